@@ -0,0 +1,22 @@
+package com.example.project.benchmark;
+
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * The application's beans on an embedded H2 database (profile {@code bench}).
+ * The app's own {@code @SpringBootConfiguration} is excluded so this class is
+ * the only root.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@EntityScan("com.example.project")
+@EnableJpaRepositories("com.example.project")
+@ComponentScan(basePackages = "com.example.project",
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ANNOTATION, classes = SpringBootConfiguration.class))
+public class BenchmarkApplication {
+}
@@ -0,0 +1,76 @@
+package com.example.project.benchmark;
+
+import com.example.project.controller.AdmissionController;
+import com.example.project.controller.BillingController;
+import com.example.project.controller.DashboardController;
+import com.example.project.service.DashboardStats;
+import com.example.project.service.DashboardStatsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ui.ExtendedModelMap;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controller hot paths called directly (no HTTP), with the filters the list
+ * pages typically submit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ControllerBenchmark {
+
+    private AdmissionController admissions;
+    private BillingController billing;
+    private DashboardController dashboard;
+    private DashboardStatsService stats;
+    private String lastMonth;
+
+    @Setup
+    public void setup(SeededContext ctx) {
+        admissions = ctx.bean(AdmissionController.class);
+        billing = ctx.bean(BillingController.class);
+        dashboard = ctx.bean(DashboardController.class);
+        stats = ctx.bean(DashboardStatsService.class);
+        lastMonth = LocalDate.now().minusDays(30).toString();
+    }
+
+    @Benchmark
+    public ExtendedModelMap admissionsListFiltered() {
+        ExtendedModelMap model = new ExtendedModelMap();
+        admissions.list(model, "ADMITTED", lastMonth, null, null, null, 0, 50);
+        return model;
+    }
+
+    @Benchmark
+    public ExtendedModelMap billingListFiltered() {
+        ExtendedModelMap model = new ExtendedModelMap();
+        billing.list(model, "UNPAID", lastMonth, null, null, null, 50);
+        return model;
+    }
+
+    /** The JSON endpoint, served from the in-memory counters. */
+    @Benchmark
+    public Map<String, Object> dashboardStats() {
+        return dashboard.dashboardStats();
+    }
+
+    /** The SQL aggregates behind the counters (startup and reconciliation). */
+    @Benchmark
+    public DashboardStats dashboardStatsFromDatabase() {
+        return stats.currentStats();
+    }
+}
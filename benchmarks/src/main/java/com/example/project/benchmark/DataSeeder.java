@@ -0,0 +1,125 @@
+package com.example.project.benchmark;
+
+import com.example.project.model.Admission;
+import com.example.project.model.Appointment;
+import com.example.project.model.Department;
+import com.example.project.model.Doctor;
+import com.example.project.model.Invoice;
+import com.example.project.model.Patient;
+import jakarta.persistence.EntityManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic hospital data. {@code rows} admissions, invoices and
+ * appointments, spread over {@code rows / 10} patients, 200 doctors and 20
+ * departments across the last two years.
+ */
+final class DataSeeder {
+
+    private static final int FLUSH_EVERY = 1000;
+    private static final String[] STATUSES_ADMISSION = {"ADMITTED", "DISCHARGED", "DISCHARGED", "DISCHARGED"};
+    private static final String[] STATUSES_INVOICE = {"UNPAID", "PAID", "PAID"};
+    private static final String[] STATUSES_APPOINTMENT = {"SCHEDULED", "COMPLETED", "CANCELLED"};
+
+    private final EntityManager em;
+    private final TransactionTemplate tx;
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final LocalDateTime now = LocalDateTime.now();
+
+    DataSeeder(EntityManager em, TransactionTemplate tx) {
+        this.em = em;
+        this.tx = tx;
+    }
+
+    void seed(int rows) {
+        List<Long> departmentIds = insert(20, i -> {
+            Department d = new Department();
+            d.setName("Department " + i);
+            return d;
+        });
+        List<Long> doctorIds = insert(200, i -> {
+            Doctor d = new Doctor();
+            d.setFirstName("Doc" + i);
+            d.setLastName("Tor" + i);
+            d.setEmail("doctor" + i + "@example.org");
+            d.setPhone("0917" + i);
+            d.setSpecialization("General");
+            d.setDepartment(em.getReference(Department.class, departmentIds.get(i % departmentIds.size())));
+            return d;
+        });
+        List<Long> patientIds = insert(Math.max(rows / 10, 100), i -> {
+            Patient p = new Patient();
+            p.setFirstName("First" + i);
+            p.setLastName("Last" + i);
+            p.setEmail("patient" + i + "@example.org");
+            p.setPhone("0918" + i);
+            return p;
+        });
+
+        insert(rows, i -> {
+            Admission a = new Admission();
+            a.setPatient(em.getReference(Patient.class, pick(patientIds)));
+            a.setDoctor(em.getReference(Doctor.class, pick(doctorIds)));
+            a.setStatus(STATUSES_ADMISSION[i % STATUSES_ADMISSION.length]);
+            a.setAdmittedAt(pastDate());
+            return a;
+        });
+        insert(rows, i -> {
+            Invoice inv = new Invoice();
+            inv.setPatient(em.getReference(Patient.class, pick(patientIds)));
+            inv.setAmount(BigDecimal.valueOf(random.nextInt(100, 50_000), 2));
+            inv.setDescription("Synthetic invoice " + i);
+            inv.setStatus(STATUSES_INVOICE[i % STATUSES_INVOICE.length]);
+            inv.setIssuedAt(pastDate());
+            return inv;
+        });
+        insert(rows, i -> {
+            Appointment ap = new Appointment();
+            ap.setPatient(em.getReference(Patient.class, pick(patientIds)));
+            // a quarter of the appointments are in the next 90 days
+            ap.setAppointmentDateTime(i % 4 == 0 ? now.plusMinutes(random.nextInt(1, 90 * 24 * 60)) : pastDate());
+            ap.setPurpose("Consultation");
+            ap.setStatus(STATUSES_APPOINTMENT[i % STATUSES_APPOINTMENT.length]);
+            return ap;
+        });
+    }
+
+    private LocalDateTime pastDate() {
+        return now.minusMinutes(random.nextInt(1, 2 * 365 * 24 * 60));
+    }
+
+    private Long pick(List<Long> ids) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private interface RowFactory {
+        Object create(int i);
+    }
+
+    private List<Long> insert(int count, RowFactory factory) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int start = 0; start < count; start += FLUSH_EVERY) {
+            int from = start;
+            tx.executeWithoutResult(status -> {
+                List<Object> batch = new ArrayList<>(FLUSH_EVERY);
+                for (int i = from; i < Math.min(from + FLUSH_EVERY, count); i++) {
+                    Object entity = factory.create(i);
+                    em.persist(entity);
+                    batch.add(entity);
+                }
+                em.flush();
+                for (Object entity : batch) {
+                    ids.add((Long) em.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity));
+                }
+                em.clear();
+            });
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.project.benchmark;
+
+import com.example.project.util.DateTimeParser;
+import com.example.project.util.LegacyDateTimeParsing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appointment form date parsing: the shared {@link DateTimeParser} against the
+ * old controller method (from the application's test-jar), on each shape the
+ * forms submit.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateTimeParserBenchmark {
+
+    @Param({"2025-11-02T14:30", "2025-11-02 14:30", "2025-11-02 2:30 PM", "2025-11-02T14:30:15"})
+    public String input;
+
+    @Benchmark
+    public LocalDateTime shared() {
+        return DateTimeParser.parse(input);
+    }
+
+    @Benchmark
+    public LocalDateTime legacy() {
+        return LegacyDateTimeParsing.parseDateTimeFlexible(input);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.project.benchmark;
+
+import com.example.project.controller.AdmissionController;
+import com.example.project.controller.BillingController;
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ui.ExtendedModelMap;
+
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FreeMarker rendering of the list templates with a model produced by the
+ * real controller. Output is counted, not kept.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TemplateRenderBenchmark {
+
+    private Template admissionsTemplate;
+    private Template billingTemplate;
+    private ExtendedModelMap admissionsModel;
+    private ExtendedModelMap billingModel;
+
+    @Setup
+    public void setup(SeededContext ctx) throws Exception {
+        Configuration freemarker = ctx.bean(Configuration.class);
+        admissionsModel = new ExtendedModelMap();
+        String admissionsView = ctx.bean(AdmissionController.class).list(admissionsModel, null, null, null, null, null, 0, 50);
+        admissionsTemplate = freemarker.getTemplate(admissionsView + ".ftlh");
+
+        billingModel = new ExtendedModelMap();
+        String billingView = ctx.bean(BillingController.class).list(billingModel, null, null, null, null, null, 50);
+        billingTemplate = freemarker.getTemplate(billingView + ".ftlh");
+    }
+
+    @Benchmark
+    public long renderAdmissionsList() throws Exception {
+        CountingWriter out = new CountingWriter();
+        admissionsTemplate.process(admissionsModel, out);
+        return out.count;
+    }
+
+    @Benchmark
+    public long renderBillingList() throws Exception {
+        CountingWriter out = new CountingWriter();
+        billingTemplate.process(billingModel, out);
+        return out.count;
+    }
+
+    static final class CountingWriter extends Writer {
+        long count;
+
+        @Override
+        public void write(char[] buf, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
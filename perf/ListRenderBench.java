@@ -0,0 +1,99 @@
+package com.example.project.config;
+
+import freemarker.core.Environment;
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+
+import java.io.BufferedWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Renders an admissions-shaped list template from memory (paged mode: every
+ * row loaded before rendering) and through {@link StreamedRows} (streamed mode),
+ * without a database, and prints time to first byte, total time, allocated
+ * bytes and heap retained mid-render (after a full GC, whose time is left out of
+ * the timings). Compile against target/classes; see perf/README.md.
+ */
+public class ListRenderBench {
+
+    public record Row(long id, String firstName, String lastName, String doctorFirst, String doctorLast,
+                      String roomNumber, String status, LocalDateTime admittedAt) {
+    }
+
+    private static final String TEMPLATE = "<table><#list rows as a><tr><td>${a.id()?c}</td>"
+            + "<td>${a.firstName()} ${a.lastName()}</td><td>${a.doctorFirst()} ${a.doctorLast()}</td>"
+            + "<td>${a.roomNumber()}</td><td><span class=\"badge status-${a.status()?lower_case}\">${a.status()}</span></td>"
+            + "<td>${a.admittedAt()?string}</td></tr><#else>none</#list></table>";
+
+    static final class Sink extends Writer {
+        long start, firstByte = -1, bytes;
+        @Override public void write(char[] c, int off, int len) { if (firstByte < 0) firstByte = System.nanoTime() - start - gcNanos; bytes += len; }
+        @Override public void flush() { }
+        @Override public void close() { }
+    }
+
+    static Stream<Row> rows(long n) {
+        return LongStream.rangeClosed(1, n).mapToObj(i -> new Row(i, "Patient" + i, "Surname" + (i % 977),
+                "Doctor" + (i % 40), "Lastname" + (i % 13), "R" + (i % 300), i % 3 == 0 ? "DISCHARGED" : "ADMITTED",
+                LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i)));
+    }
+
+    static long gcNanos;
+
+    /** Heap in use after a full collection; the collection's time is kept out of the timings. */
+    static long usedAfterGc() {
+        long t = System.nanoTime();
+        System.gc();
+        gcNanos += System.nanoTime() - t;
+        Runtime rt = Runtime.getRuntime();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Configuration cfg = new Configuration(Configuration.VERSION_2_3_32);
+        Template template = new Template("list", TEMPLATE, cfg);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int runs = Integer.getInteger("runs", 5);
+        System.out.println("mode,rows,ttfb_ms,total_ms,bytes,allocated_mb,retained_mid_mb");
+        for (long n : new long[] {1_000, 10_000, 50_000}) {
+            for (String mode : new String[] {"paged", "streamed"}) {
+                for (int run = 0; run <= runs; run++) {      // run 0 warms up
+                    long base = usedAfterGc();
+                    long[] mid = {0};
+                    Sink sink = new Sink();
+                    long alloc0 = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+                    gcNanos = 0;
+                    sink.start = System.nanoTime();
+                    Map<String, Object> model = new HashMap<>();
+                    if (mode.equals("paged")) {
+                        List<Row> loaded = rows(n).toList();
+                        model.put("rows", loaded);
+                        mid[0] = usedAfterGc() - base;
+                    } else {
+                        StreamedRows<Row> streamed = new StreamedRows<>(() -> rows(n), 200, 50_000);
+                        long half = n / 400;
+                        long[] chunk = {0};
+                        streamed.afterChunk(() -> { if (++chunk[0] == Math.max(half, 1)) mid[0] = usedAfterGc() - base; });
+                        model.put("rows", streamed);
+                    }
+                    try (Writer out = new BufferedWriter(sink, 8192)) {
+                        template.process(model, out);
+                    }
+                    long total = System.nanoTime() - sink.start - gcNanos;
+                    long alloc = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - alloc0;
+                    if (run > 0) {
+                        System.out.printf("%s,%d,%.2f,%.2f,%d,%.1f,%.1f%n", mode, n, sink.firstByte / 1e6, total / 1e6,
+                                sink.bytes, alloc / 1048576.0, Math.max(mid[0], 0) / 1048576.0);
+                    }
+                }
+            }
+        }
+    }
+}
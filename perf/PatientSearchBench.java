@@ -0,0 +1,164 @@
+package com.example.project.service;
+
+import com.example.project.repository.PatientIndexChangeRepository;
+import com.example.project.repository.PatientQueryRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Builds the patient search index from generated patients (no database) and
+ * times {@link PatientSearchService#typeahead} and {@link PatientSearchService#search}
+ * for keystroke-shaped queries, printing p50/p95/p99/max per query kind. The
+ * index is built in a temporary directory and deleted afterwards. Compile
+ * against target/classes; see perf/README.md.
+ */
+public class PatientSearchBench {
+
+    private static final String[] FIRST = {
+            "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+            "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+            "Christopher", "Lisa", "Daniel", "Nancy", "Matthew", "Betty", "Anthony", "Sandra", "Mark", "Margaret",
+            "Donald", "Ashley", "Steven", "Kimberly", "Andrew", "Emily", "Paul", "Donna", "Joshua", "Michelle",
+            "Kenneth", "Carol", "Kevin", "Amanda", "Brian", "Melissa", "George", "Deborah", "Timothy", "Stephanie",
+            "Ronald", "Rebecca", "Jason", "Sharon", "Edward", "Laura", "Jeffrey", "Cynthia", "Ryan", "Dorothy",
+            "Jacob", "Amy", "Gary", "Kathleen", "Nicholas", "Angela", "Eric", "Shirley", "Jonathan", "Emma",
+            "Stephen", "Brenda", "Larry", "Pamela", "Justin", "Nicole", "Scott", "Anna", "Brandon", "Samantha",
+            "Benjamin", "Katherine", "Samuel", "Christine", "Gregory", "Debra", "Alexander", "Rachel", "Patrick",
+            "Carolyn", "Frank", "Janet", "Raymond", "Maria", "Jack", "Olivia", "Dennis", "Heather", "Jerry", "Helen"};
+    private static final String[] SYLLABLES = {
+            "an", "ber", "cal", "dor", "el", "fen", "gar", "hol", "is", "jen", "kin", "lam", "mor", "nel", "os",
+            "per", "quin", "ros", "sten", "tor", "ul", "ver", "wal", "xan", "yor", "zel", "son", "ley", "man", "ton",
+            "field", "wood"};
+
+    public static void main(String[] args) throws Exception {
+        long patients = Long.getLong("patients", 1_000_000);
+        int queries = Integer.getInteger("queries", 20_000);
+        Path dir = Files.createTempDirectory("patient-index-bench");
+
+        PatientQueryRepository repository = proxy(PatientQueryRepository.class, (name, a) -> switch (name) {
+            case "streamForIndex" -> LongStream.rangeClosed(1, patients).mapToObj(PatientSearchBench::row);
+            case "count" -> patients;
+            default -> throw new UnsupportedOperationException(name);
+        });
+        PatientIndexChangeRepository changeLog = proxy(PatientIndexChangeRepository.class, (name, a) -> List.of());
+        PlatformTransactionManager tx = new PlatformTransactionManager() {
+            @Override public TransactionStatus getTransaction(TransactionDefinition definition) { return new SimpleTransactionStatus(); }
+            @Override public void commit(TransactionStatus status) { }
+            @Override public void rollback(TransactionStatus status) { }
+        };
+        PatientSearchService service = new PatientSearchService(repository, changeLog, null, tx);
+        set(service, "indexDir", dir);
+        set(service, "changeRetentionDays", 7);
+        service.open();
+
+        long t = System.nanoTime();
+        service.rebuild();
+        service.commit();
+        long bytes;
+        try (Stream<Path> files = Files.walk(dir)) {
+            bytes = files.filter(Files::isRegularFile).mapToLong(p -> p.toFile().length()).sum();
+        }
+        System.out.printf("# %d patients indexed in %.1f s, %.0f MB on disk%n",
+                patients, (System.nanoTime() - t) / 1e9, bytes / 1048576.0);
+
+        Random random = new Random(42);
+        Supplier<String[]> person = () -> {
+            long id = 1 + (long) (random.nextDouble() * patients);
+            Object[] r = row(id);
+            return new String[] {(String) r[1], (String) r[2], (String) r[3], (String) r[4]};
+        };
+        System.out.println("patients,kind,queries,p50_ms,p95_ms,p99_ms,max_ms");
+        // typed one letter of the surname, two or three, four to six, then "first sur" for a full name
+        bench(patients, "typeahead-1", queries, () -> person.get()[1].substring(0, 1), q -> service.typeahead(q, 10));
+        bench(patients, "typeahead-2-3", queries,
+                () -> prefix(person.get()[1], 2 + random.nextInt(2)), q -> service.typeahead(q, 10));
+        bench(patients, "typeahead-4-6", queries,
+                () -> prefix(person.get()[1], 4 + random.nextInt(3)), q -> service.typeahead(q, 10));
+        bench(patients, "typeahead-name", queries, () -> {
+            String[] p = person.get();
+            return p[0] + " " + prefix(p[1], 1 + random.nextInt(4));
+        }, q -> service.typeahead(q, 10));
+        bench(patients, "typeahead-email", queries, () -> prefix(person.get()[2], 6 + random.nextInt(6)),
+                q -> service.typeahead(q, 10));
+        bench(patients, "typeahead-phone", queries,
+                () -> prefix(person.get()[3], 5 + random.nextInt(5)), q -> service.typeahead(q, 10));
+        bench(patients, "search-name", queries / 4, () -> {
+            String[] p = person.get();
+            return p[0] + " " + p[1];
+        }, q -> service.search(q, 0, 20));
+
+        service.close();
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    /** Generated patient: 100 first names, 32,768 three-syllable surnames, unique email and phone. */
+    static Object[] row(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        String first = FIRST[(int) Math.floorMod(h >>> 7, (long) FIRST.length)];
+        int s = (int) Math.floorMod(h >>> 23, 32_768L);
+        String last = capitalize(SYLLABLES[s >> 10] + SYLLABLES[(s >> 5) & 31] + SYLLABLES[s & 31]);
+        String email = (first + "." + last + id + "@example.com").toLowerCase();
+        String phone = String.format("555-%03d-%04d", (id / 10_000) % 1000, id % 10_000);
+        return new Object[] {id, first, last, email, phone};
+    }
+
+    private static void bench(long patients, String kind, int n, Supplier<String> query,
+                              Consumer<String> run) {
+        String[] input = new String[n];
+        for (int i = 0; i < n; i++) input[i] = query.get();
+        for (int i = 0; i < Math.min(n, 2_000); i++) run.accept(input[i]);      // warm-up
+        long[] nanos = new long[n];
+        for (int i = 0; i < n; i++) {
+            long t = System.nanoTime();
+            run.accept(input[i]);
+            nanos[i] = System.nanoTime() - t;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%d,%s,%d,%.2f,%.2f,%.2f,%.2f%n", patients, kind, n, pct(nanos, 50), pct(nanos, 95),
+                pct(nanos, 99), nanos[n - 1] / 1e6);
+    }
+
+    private static double pct(long[] sorted, int p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(sorted.length * p / 100.0) - 1)] / 1e6;
+    }
+
+    private static String prefix(String s, int n) {
+        return s.substring(0, Math.min(n, s.length()));
+    }
+
+    private static String capitalize(String s) {
+        return Character.toUpperCase(s.charAt(0)) + s.substring(1);
+    }
+
+    interface Handler {
+        Object handle(String method, Object[] args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                (p, m, a) -> m.getDeclaringClass() == Object.class ? m.invoke(handler, a) : handler.handle(m.getName(), a));
+    }
+
+    private static void set(Object target, String field, Object value) throws ReflectiveOperationException {
+        Field f = target.getClass().getDeclaredField(field);
+        f.setAccessible(true);
+        f.set(target, value);
+    }
+}
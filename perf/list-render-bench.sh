@@ -0,0 +1,47 @@
+#!/usr/bin/env bash
+# Measures time-to-first-byte, total time, page size and heap allocated per
+# request for the big list pages, with app.views.streaming-lists off (paged,
+# rendered in memory) and on (streamed from a cursor), and writes a CSV per
+# mode to perf/results/. Needs curl and a MySQL database with realistic data.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+PORT=${PORT:-8080}
+REQUESTS=${REQUESTS:-20}
+HEAP=${HEAP:-512m}
+PAGES=${PAGES:-"/admissions?size=500 /billing?size=1000 /appointments?days=90&size=200"}
+RESULTS=perf/results/lists-$(date +%Y%m%d-%H%M%S)
+mkdir -p "$RESULTS"
+
+./mvnw -q -DskipTests package
+JAR=$(ls target/project-*-exec.jar | head -n 1)
+
+allocated() {
+  curl -s "http://localhost:$PORT/actuator/prometheus" \
+    | awk '/^jvm_gc_memory_allocated_bytes_total/ { print $2 }'
+}
+
+for mode in paged streamed; do
+  streaming=false
+  [ "$mode" = streamed ] && streaming=true
+  java -Xmx"$HEAP" -Xlog:gc:file="$RESULTS/$mode-gc.log" -jar "$JAR" --server.port="$PORT" \
+      --app.views.streaming-lists="$streaming" > "$RESULTS/$mode-app.log" 2>&1 &
+  pid=$!
+  trap 'kill $pid 2>/dev/null || true' EXIT
+  until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do sleep 1; done
+
+  echo "page,ttfb_s,total_s,bytes,allocated_bytes" > "$RESULTS/$mode.csv"
+  for page in $PAGES; do
+    curl -s -o /dev/null "http://localhost:$PORT$page"   # warm up
+    for _ in $(seq "$REQUESTS"); do
+      before=$(allocated)
+      timing=$(curl -s -o /dev/null -w '%{time_starttransfer},%{time_total},%{size_download}' "http://localhost:$PORT$page")
+      after=$(allocated)
+      echo "$page,$timing,$(awk -v a="$after" -v b="$before" 'BEGIN { printf "%.0f", a - b }')" >> "$RESULTS/$mode.csv"
+    done
+  done
+
+  kill $pid; wait $pid 2>/dev/null || true
+done
+
+echo "Results in $RESULTS"
@@ -0,0 +1,52 @@
+// k6 load profile for the hot read paths. Usage: see perf/README.md
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE = __ENV.BASE_URL || 'http://localhost:8080';
+const MODE = __ENV.MODE || 'platform';
+const RATE = parseInt(__ENV.RATE || '200');        // requests/s per scenario at peak
+const DURATION = __ENV.DURATION || '3m';
+
+function scenario(exec) {
+  return {
+    executor: 'ramping-arrival-rate',
+    exec,
+    startRate: Math.ceil(RATE / 10),
+    timeUnit: '1s',
+    preAllocatedVUs: RATE,
+    maxVUs: RATE * 10,
+    stages: [
+      { target: RATE, duration: '30s' },
+      { target: RATE, duration: DURATION },
+      { target: 0, duration: '15s' },
+    ],
+    tags: { mode: MODE },
+  };
+}
+
+export const options = {
+  scenarios: {
+    appointments: scenario('appointments'),
+    admissions: scenario('admissions'),
+    dashboardStats: scenario('dashboardStats'),
+  },
+  summaryTrendStats: ['avg', 'med', 'p(95)', 'p(99)', 'max'],
+  thresholds: {
+    'http_req_failed': ['rate<0.01'],
+    'http_req_duration{scenario:appointments}': ['p(99)<1000'],
+    'http_req_duration{scenario:admissions}': ['p(99)<1000'],
+    'http_req_duration{scenario:dashboardStats}': ['p(99)<250'],
+  },
+};
+
+export function appointments() {
+  check(http.get(`${BASE}/appointments`), { '200': (r) => r.status === 200 });
+}
+
+export function admissions() {
+  check(http.get(`${BASE}/admissions?page=0&size=50`), { '200': (r) => r.status === 200 });
+}
+
+export function dashboardStats() {
+  check(http.get(`${BASE}/dashboard/stats`), { '200': (r) => r.status === 200 });
+}
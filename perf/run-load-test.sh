@@ -0,0 +1,30 @@
+#!/usr/bin/env bash
+# Runs perf/load.js against the app in platform-thread and virtual-thread mode
+# and writes one k6 summary per mode to perf/results/.
+# Needs Java 21, k6 and a MySQL database configured for the app.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+PORT=${PORT:-8080}
+RESULTS=perf/results/$(date +%Y%m%d-%H%M%S)
+mkdir -p "$RESULTS"
+
+./mvnw -q -Pjava21 -DskipTests package
+JAR=$(ls target/project-*-exec.jar | head -n 1)
+
+for mode in platform virtual; do
+  profiles=""
+  [ "$mode" = virtual ] && profiles="--spring.profiles.active=virtual"
+  java -jar "$JAR" --server.port="$PORT" $profiles > "$RESULTS/$mode-app.log" 2>&1 &
+  pid=$!
+  trap 'kill $pid 2>/dev/null || true' EXIT
+  until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do sleep 1; done
+
+  k6 run -e BASE_URL="http://localhost:$PORT" -e MODE="$mode" \
+      --summary-export "$RESULTS/$mode-summary.json" perf/load.js | tee "$RESULTS/$mode-k6.txt"
+  curl -s "http://localhost:$PORT/actuator/prometheus" > "$RESULTS/$mode-metrics.txt"
+
+  kill $pid; wait $pid 2>/dev/null || true
+done
+
+echo "Results in $RESULTS"
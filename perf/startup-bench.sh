@@ -0,0 +1,47 @@
+#!/usr/bin/env bash
+# Starts the app repeatedly as the default build and as the fast-start build
+# (AOT + CDS archive + lazy initialization) and records time to first request
+# and resident memory after it, one CSV row per run, in perf/results/.
+# Needs curl and a MySQL database configured for the app.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+PORT=${PORT:-8080}
+RUNS=${RUNS:-5}
+PROBE=${PROBE:-/}
+RESULTS=perf/results/startup-$(date +%Y%m%d-%H%M%S)
+mkdir -p "$RESULTS"
+
+./mvnw -q -DskipTests package
+mkdir -p target/startup-baseline
+cp target/project-*-exec.jar target/startup-baseline/
+BASELINE=$(ls target/startup-baseline/project-*-exec.jar | head -n 1)
+
+./mvnw -q -Pfast-start -DskipTests package
+FAST=$(ls target/fast-start/project-*-exec.jar | head -n 1)
+
+now_ms() { date +%s%3N; }
+
+echo "build,run,first_request_ms,rss_kb" > "$RESULTS/startup.csv"
+for build in baseline fast-start; do
+  for run in $(seq "$RUNS"); do
+    start=$(now_ms)
+    if [ "$build" = baseline ]; then
+      java -jar "$BASELINE" --server.port="$PORT" > "$RESULTS/$build-$run.log" 2>&1 &
+    else
+      java -XX:SharedArchiveFile=target/fast-start/application.jsa -Dspring.aot.enabled=true \
+          -jar "$FAST" --server.port="$PORT" --spring.profiles.active=fast-start > "$RESULTS/$build-$run.log" 2>&1 &
+    fi
+    pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+    # first request that gets a real page back, not just an open port
+    until curl -sf -o /dev/null "http://localhost:$PORT$PROBE"; do sleep 0.05; done
+    first=$(( $(now_ms) - start ))
+    rss=$(awk '/^VmRSS/ { print $2 }' /proc/$pid/status)
+    echo "$build,$run,$first,$rss" >> "$RESULTS/startup.csv"
+    kill $pid; wait $pid 2>/dev/null || true
+  done
+done
+
+column -s, -t "$RESULTS/startup.csv"
+echo "Results in $RESULTS"
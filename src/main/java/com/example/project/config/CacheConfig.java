@@ -0,0 +1,33 @@
+package com.example.project.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PATIENT_OPTIONS = "patientOptions";
+    public static final String DOCTOR_OPTIONS = "doctorOptions";
+    public static final String DEPARTMENT_OPTIONS = "departmentOptions";
+    public static final String PATIENT_TIMELINE = "patientTimeline";
+
+    /**
+     * Bounded in-process caches. Entries are also evicted on write (see the
+     * services that own each cache), so the TTL is only a safety net.
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${app.cache.spec:maximumSize=1000,expireAfterWrite=10m,recordStats}") String spec) {
+        CaffeineCacheManager manager = new CaffeineCacheManager();
+        manager.setCaffeine(Caffeine.from(spec));
+        manager.setCacheNames(List.of(PATIENT_OPTIONS, DOCTOR_OPTIONS, DEPARTMENT_OPTIONS, PATIENT_TIMELINE));
+        return manager;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.project.config;
+
+import com.example.project.service.CollectionVersions;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+import java.util.Map;
+
+/**
+ * Conditional GET for a page or collection built only from the given
+ * collections. The ETag and Last-Modified come from {@link CollectionVersions};
+ * a matching {@code If-None-Match} / {@code If-Modified-Since} gets a 304
+ * before the handler runs, so no query or template work happens.
+ */
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private final CollectionVersions versions;
+    private final String[] collections;
+
+    public ConditionalGetInterceptor(CollectionVersions versions, String... collections) {
+        this.versions = versions;
+        this.collections = collections;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) return true;
+        // a page carrying a one-off flash message must not be served from cache
+        Map<String, ?> flash = RequestContextUtils.getInputFlashMap(request);
+        if (flash != null && !flash.isEmpty()) return true;
+
+        // must revalidate every time, but revalidation is nearly free
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        CollectionVersions.Validators validators = versions.validators(collections);
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        return !webRequest.checkNotModified(validators.etag(), validators.lastModified());
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.project.config;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Gives async responses (e.g. {@code StreamingResponseBody}) of one controller
+ * their own timeout instead of {@code spring.mvc.async.request-timeout}.
+ * Applied just before the request goes async, while the container still
+ * accepts a new timeout. Zero or less means no timeout.
+ */
+class ControllerAsyncTimeout implements CallableProcessingInterceptor {
+
+    private final Class<?> controller;
+    private final long timeoutMs;
+
+    ControllerAsyncTimeout(Class<?> controller, long timeoutMs) {
+        this.controller = controller;
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (handler instanceof HandlerMethod method && controller.isAssignableFrom(method.getBeanType())
+                && request instanceof AsyncWebRequest asyncRequest) {
+            asyncRequest.setTimeout(timeoutMs);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.project.config;
+
+import com.example.project.event.EntityChangeEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Turns Hibernate post-insert/update/delete callbacks into Spring
+ * {@link EntityChangeEvent}s. Hooking in at the persistence layer means every
+ * write path (MVC, REST, services) is covered without each service having to
+ * publish its own events.
+ */
+@Component
+@Lazy(false) // registers itself with Hibernate, so must exist before the first flush
+public class EntityChangeEventBridge implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final transient EntityManagerFactory entityManagerFactory;
+    private final transient ApplicationEventPublisher publisher;
+
+    public EntityChangeEventBridge(EntityManagerFactory entityManagerFactory, ApplicationEventPublisher publisher) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.publisher = publisher;
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        publisher.publishEvent(new EntityChangeEvent(EntityChangeEvent.Kind.INSERT, event.getEntity(), Map.of()));
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publisher.publishEvent(new EntityChangeEvent(EntityChangeEvent.Kind.UPDATE, event.getEntity(),
+                stateMap(event.getPersister(), event.getOldState())));
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publisher.publishEvent(new EntityChangeEvent(EntityChangeEvent.Kind.DELETE, event.getEntity(),
+                stateMap(event.getPersister(), event.getDeletedState())));
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private static Map<String, Object> stateMap(EntityPersister persister, Object[] state) {
+        if (state == null) return Map.of();
+        String[] names = persister.getPropertyNames();
+        Map<String, Object> map = new HashMap<>(names.length * 2);
+        for (int i = 0; i < names.length && i < state.length; i++) {
+            map.put(names[i], state[i]);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.project.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts entities hydrated on the current thread into {@link QueryCounter}, so
+ * a request that loads thousands of rows shows up even when it runs few statements.
+ */
+@Component
+@Lazy(false) // registers itself with Hibernate, so must exist before the first flush
+public class EntityLoadCounter implements PostLoadEventListener {
+
+    private final transient EntityManagerFactory entityManagerFactory;
+
+    public EntityLoadCounter(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostConstruct
+    void register() {
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, this);
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        QueryCounter.entityLoaded();
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.project.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Boot only creates {@code applicationTaskExecutor} when there is no other
+     * {@code Executor} bean, and the pools below are ones; without this MVC
+     * async work (streamed exports, async timeouts) would run on an unbounded
+     * {@code SimpleAsyncTaskExecutor}. Built like Boot's own from
+     * {@code spring.task.execution.*}: a bounded pool on platform threads.
+     */
+    @Bean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    /** With {@code spring.threads.virtual.enabled}: one virtual thread per task, as Boot would. */
+    @Bean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor applicationTaskExecutorVirtualThreads(SimpleAsyncTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * Runs page sections in parallel (see {@code ParallelLoader}). Bounded so a
+     * burst of page loads cannot take more connections than the pool has; when
+     * the queue is full the section is rejected and shown as degraded.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor sectionLoaderExecutor(@Value("${app.parallel.threads:8}") int threads,
+                                                        @Value("${app.parallel.queue:200}") int queue) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("section-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queue);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    /**
+     * Writes census server-sent events (see {@code CensusRestController}) off
+     * the scheduler thread that publishes them. Sends to a slow board block
+     * one of these threads, not the scheduled jobs; a full queue rejects the
+     * send and that board is dropped.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor sseSendExecutor(@Value("${app.census.sse-threads:4}") int threads,
+                                                  @Value("${app.census.sse-queue:1000}") int queue) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("sse-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queue);
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
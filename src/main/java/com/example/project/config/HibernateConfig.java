@@ -0,0 +1,77 @@
+package com.example.project.config;
+
+import com.example.project.model.Department;
+import com.example.project.model.Doctor;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class HibernateConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingCustomizer() {
+        return props -> props.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCounter());
+    }
+
+    /**
+     * Second-level cache for reference entities that change a few times a week.
+     * Regions are sized in {@code application.conf} (Caffeine JCache). Writes go
+     * through Hibernate, so read-write regions and the query cache invalidate
+     * themselves on save and delete. Region names must not contain dots: Caffeine
+     * reads them as config paths and then refuses to create the cache.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer() {
+        return props -> {
+            props.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, "true");
+            props.put(AvailableSettings.USE_QUERY_CACHE, "true");
+            props.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            props.put("hibernate.javax.cache.provider", "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider");
+            props.put("hibernate.javax.cache.missing_cache_strategy", "create");
+            props.put(AvailableSettings.GENERATE_STATISTICS, "true");
+            props.put("hibernate.classcache." + Department.class.getName(), "read-write,department");
+            props.put("hibernate.classcache." + Doctor.class.getName(), "read-write,doctor");
+        };
+    }
+
+    /**
+     * JDBC batching for bulk writes. Inserts are ordered by entity so each batch
+     * is one statement shape; entities on IDENTITY ids are still inserted one by
+     * one, which is why bulk-written entities use a pooled generator. On MySQL,
+     * add {@code rewriteBatchedStatements=true} to the JDBC URL as well.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer(@Value("${app.jdbc.batch-size:100}") int batchSize) {
+        return props -> {
+            props.put(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(batchSize));
+            props.put(AvailableSettings.ORDER_INSERTS, "true");
+            props.put(AvailableSettings.ORDER_UPDATES, "true");
+            props.put(AvailableSettings.BATCH_VERSIONED_DATA, "true");
+        };
+    }
+
+    /**
+     * Streamed queries (exports, streamed list pages, index builds) set a
+     * positive fetch size. MySQL Connector/J only honours it with
+     * {@code useCursorFetch=true} and otherwise buffers the whole result set.
+     * Added for MySQL URLs only: H2 rejects unknown connection settings.
+     */
+    @Bean
+    public static BeanPostProcessor mysqlCursorFetch() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource && dataSource.getJdbcUrl() != null
+                        && dataSource.getJdbcUrl().startsWith("jdbc:mysql:")) {
+                    dataSource.addDataSourceProperty("useCursorFetch", "true");
+                }
+                return bean;
+            }
+        };
+    }
+}
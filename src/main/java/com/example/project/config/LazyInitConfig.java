@@ -0,0 +1,41 @@
+package com.example.project.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.servlet.view.freemarker.FreeMarkerConfig;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class LazyInitConfig {
+
+    /**
+     * Beans kept eager when {@code spring.main.lazy-initialization} is on (the
+     * {@code fast-start} profile): the connection pool, Hibernate and FreeMarker,
+     * which the first request would otherwise pay for, and beans with
+     * {@code @Scheduled} methods, whose jobs are only registered once the bean
+     * exists. Everything else is created on first use.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter eagerInfrastructure() {
+        return (beanName, definition, beanType) -> beanType != null
+                && (DataSource.class.isAssignableFrom(beanType)
+                || EntityManagerFactory.class.isAssignableFrom(beanType)
+                || AbstractEntityManagerFactoryBean.class.isAssignableFrom(beanType)
+                || FreeMarkerConfig.class.isAssignableFrom(beanType)
+                || hasScheduledMethods(beanType));
+    }
+
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        return !MethodIntrospector.selectMethods(ClassUtils.getUserClass(beanType),
+                (MethodIntrospector.MetadataLookup<Boolean>) method ->
+                        AnnotatedElementUtils.hasAnnotation(method, Scheduled.class) ? Boolean.TRUE : null).isEmpty();
+    }
+}
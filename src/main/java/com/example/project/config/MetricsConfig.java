@@ -0,0 +1,14 @@
+package com.example.project.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+/**
+ * Actuator and Micrometer defaults (endpoint exposure, histograms); see
+ * {@code metrics.properties}. Values in application properties or the
+ * environment still take precedence.
+ */
+@Configuration
+@PropertySource("classpath:metrics.properties")
+public class MetricsConfig {
+}
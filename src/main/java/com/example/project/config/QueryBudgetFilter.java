@@ -0,0 +1,108 @@
+package com.example.project.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+
+/**
+ * Per-request SQL statement budget. Requests above
+ * {@code app.query-budget.max-statements} are logged; with
+ * {@code app.query-budget.enforce=true} (meant for tests) they fail, which
+ * catches N+1 regressions on list pages. To fail before anything reaches the
+ * client, enforce mode buffers the whole response (streamed pages included)
+ * and only hands it over once the request is within budget. Statements and
+ * entity loads per request are also recorded as
+ * {@code app.request.sql.statements} and {@code app.request.entity.loads},
+ * tagged by route.
+ */
+@Component
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    public static final String COUNT_ATTRIBUTE = QueryBudgetFilter.class.getName() + ".count";
+
+    @Value("${app.query-budget.max-statements:15}")
+    private int maxStatements;
+
+    @Value("${app.query-budget.enforce:false}")
+    private boolean enforce;
+
+    private final MeterRegistry meterRegistry;
+
+    public QueryBudgetFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** The async dispatch of a streamed response must copy out the buffered body in enforce mode. */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                if (!isAsyncStarted(request)) copyBufferedBody(response);
+            }
+            return;
+        }
+        HttpServletResponse target = enforce ? new ContentCachingResponseWrapper(response) : response;
+        QueryCounter.reset();
+        int statements;
+        int loads;
+        try {
+            chain.doFilter(request, target);
+        } finally {
+            statements = QueryCounter.count();
+            loads = QueryCounter.entityLoads();
+            request.setAttribute(COUNT_ATTRIBUTE, statements);
+            QueryCounter.clear();
+        }
+        record(request, "app.request.sql.statements", statements);
+        record(request, "app.request.entity.loads", loads);
+        if (statements > maxStatements) {
+            String msg = request.getMethod() + " " + request.getRequestURI() + " ran " + statements
+                    + " SQL statements (budget " + maxStatements + ")";
+            if (enforce) {
+                // nothing has been copied to the client yet, so the error replaces the page
+                target.resetBuffer();
+                throw new IllegalStateException(msg);
+            }
+            log.warn(msg);
+        }
+        if (!isAsyncStarted(request)) copyBufferedBody(target);
+    }
+
+    private static void copyBufferedBody(HttpServletResponse response) throws IOException {
+        ContentCachingResponseWrapper buffered = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (buffered != null) buffered.copyBodyToResponse();
+    }
+
+    private void record(HttpServletRequest request, String name, int value) {
+        // Route pattern rather than raw URI keeps tag cardinality bounded
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(name)
+                .tag("method", request.getMethod())
+                .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                .register(meterRegistry)
+                .record(value);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.project.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts SQL statements prepared by Hibernate on the current thread, and
+ * entities loaded (via {@link EntityLoadCounter}). Used by
+ * {@link QueryBudgetFilter} to measure statements per request, and usable
+ * directly from tests: {@code QueryCounter.reset(); ...; QueryCounter.count()}.
+ */
+public class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[2]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    static void entityLoaded() {
+        COUNT.get()[1]++;
+    }
+
+    public static void reset() {
+        int[] c = COUNT.get();
+        c[0] = 0;
+        c[1] = 0;
+    }
+
+    public static int count() {
+        return COUNT.get()[0];
+    }
+
+    public static int entityLoads() {
+        return COUNT.get()[1];
+    }
+
+    /** Adds work done on another thread on behalf of this one. */
+    public static void add(int statements, int loads) {
+        int[] c = COUNT.get();
+        c[0] += statements;
+        c[1] += loads;
+    }
+
+    public static void clear() {
+        COUNT.remove();
+    }
+}
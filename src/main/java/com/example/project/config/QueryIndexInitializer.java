@@ -0,0 +1,119 @@
+package com.example.project.config;
+
+import com.example.project.model.Admission;
+import com.example.project.model.Appointment;
+import com.example.project.model.Invoice;
+import com.example.project.model.MedicalHistory;
+import com.example.project.model.Patient;
+import com.example.project.model.Prescription;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Creates the secondary indexes the list/report queries rely on, for entities
+ * whose mapping we do not own. Table and column names are resolved from the
+ * Hibernate mapping, so this follows whatever naming strategy is configured.
+ * Existing indexes (matched by name) are left alone.
+ */
+@Component
+@ConditionalOnProperty(name = "app.schema.ensure-indexes", havingValue = "true", matchIfMissing = true)
+public class QueryIndexInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryIndexInitializer.class);
+
+    record IndexSpec(Class<?> entity, String name, String... properties) {}
+
+    static final List<IndexSpec> INDEXES = List.of(
+            // admissions list: status filter + newest first, date range, per-patient, per-doctor
+            new IndexSpec(Admission.class, "idx_admission_status_admitted", "status", "admittedAt"),
+            new IndexSpec(Admission.class, "idx_admission_admitted", "admittedAt"),
+            new IndexSpec(Admission.class, "idx_admission_patient_admitted", "patient", "admittedAt"),
+            new IndexSpec(Admission.class, "idx_admission_doctor_admitted", "doctor", "admittedAt"),
+            // invoice keyset listing on (issuedAt, id); InnoDB appends the PK to every secondary index
+            new IndexSpec(Invoice.class, "idx_invoice_issued", "issuedAt"),
+            new IndexSpec(Invoice.class, "idx_invoice_status_issued", "status", "issuedAt"),
+            new IndexSpec(Invoice.class, "idx_invoice_patient_issued", "patient", "issuedAt"),
+            // dashboard: today's appointment count; unpaid sum reads (status, amount) only
+            new IndexSpec(Appointment.class, "idx_appointment_datetime", "appointmentDateTime"),
+            new IndexSpec(Invoice.class, "idx_invoice_status_amount", "status", "amount"),
+            // patient timeline: newest N per patient from each source (invoices use idx_invoice_patient_issued)
+            new IndexSpec(MedicalHistory.class, "idx_history_patient_visit", "patient", "visitDate"),
+            new IndexSpec(Appointment.class, "idx_appointment_patient_datetime", "patient", "appointmentDateTime"),
+            new IndexSpec(Prescription.class, "idx_prescription_patient_issued", "patient", "dateIssued"),
+            // patient dropdown order and typeahead prefixes; each ORed LIKE gets its own range (index merge)
+            new IndexSpec(Patient.class, "idx_patient_last_first", "lastName", "firstName"),
+            new IndexSpec(Patient.class, "idx_patient_first", "firstName"),
+            new IndexSpec(Patient.class, "idx_patient_email", "email")
+    );
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final DataSource dataSource;
+
+    public QueryIndexInitializer(EntityManagerFactory entityManagerFactory, DataSource dataSource) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.dataSource = dataSource;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        SessionFactoryImplementor sf = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        try (Connection conn = dataSource.getConnection()) {
+            for (IndexSpec spec : INDEXES) {
+                try {
+                    AbstractEntityPersister persister = (AbstractEntityPersister)
+                            sf.getMappingMetamodel().getEntityDescriptor(spec.entity());
+                    String table = persister.getTableName();
+                    if (existingIndexes(conn, table).contains(spec.name().toLowerCase(Locale.ROOT))) continue;
+
+                    List<String> columns = new ArrayList<>();
+                    for (String property : spec.properties()) {
+                        columns.addAll(List.of(persister.getPropertyColumnNames(property)));
+                    }
+                    String ddl = "create index " + spec.name() + " on " + table + " (" + String.join(", ", columns) + ")";
+                    try (Statement st = conn.createStatement()) {
+                        st.execute(ddl);
+                    }
+                    log.info("Created index: {}", ddl);
+                } catch (Exception e) {
+                    log.warn("Could not ensure index {}: {}", spec.name(), e.getMessage());
+                }
+            }
+        } catch (SQLException e) {
+            log.warn("Skipping index check, no connection: {}", e.getMessage());
+        }
+    }
+
+    private static Set<String> existingIndexes(Connection conn, String table) throws SQLException {
+        Set<String> names = new HashSet<>();
+        DatabaseMetaData md = conn.getMetaData();
+        // some databases store unquoted identifiers upper-cased
+        for (String t : new String[]{table, table.toUpperCase(Locale.ROOT)}) {
+            try (ResultSet rs = md.getIndexInfo(conn.getCatalog(), null, t, false, true)) {
+                while (rs.next()) {
+                    String name = rs.getString("INDEX_NAME");
+                    if (name != null) names.add(name.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.project.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    /**
+     * Boot's scheduler has one thread by default, so one slow job (an index
+     * sync, a reconcile) would delay every other {@code @Scheduled} job. The
+     * virtual-thread scheduler has no pool and is not affected.
+     */
+    @Bean
+    public ThreadPoolTaskSchedulerCustomizer schedulerPoolSize(@Value("${app.scheduling.threads:4}") int threads) {
+        return scheduler -> scheduler.setPoolSize(threads);
+    }
+}
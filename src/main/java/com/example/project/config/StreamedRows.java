@@ -0,0 +1,123 @@
+package com.example.project.config;
+
+import freemarker.core.Environment;
+import freemarker.template.SimpleNumber;
+import freemarker.template.TemplateBooleanModel;
+import freemarker.template.TemplateCollectionModel;
+import freemarker.template.TemplateHashModel;
+import freemarker.template.TemplateModel;
+import freemarker.template.TemplateModelException;
+import freemarker.template.TemplateModelIterator;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * A list model that is read from a database cursor while the template renders
+ * it. The stream is opened on first {@code <#list>} and closed when exhausted
+ * (or by {@link StreamingFreeMarkerView} if rendering fails). Every
+ * {@code chunkSize} rows the output is flushed to the client and the
+ * streaming transaction's persistence context cleared, so neither the response
+ * nor the session grows with the result. Rows should only touch associations
+ * their query fetches. At most {@code maxRows} are listed; after the list,
+ * {@code rows.truncated} tells whether more matched, and {@code rows.maxRows}
+ * gives the cap for a notice.
+ * Can be listed once per request, so templates test for rows with
+ * {@code <#list>...<#else>} rather than {@code ?has_content}.
+ */
+public final class StreamedRows<T> implements TemplateCollectionModel, TemplateHashModel {
+
+    private final Supplier<Stream<T>> source;
+    private final int chunkSize;
+    private final long maxRows;
+    private Runnable afterChunk = () -> { };
+    private Stream<T> open;
+    private long rendered;
+    private long flushedAt;
+    private boolean truncated;
+
+    StreamedRows(Supplier<Stream<T>> source, int chunkSize, long maxRows) {
+        this.source = source;
+        this.chunkSize = Math.max(chunkSize, 1);
+        this.maxRows = maxRows;
+    }
+
+    void afterChunk(Runnable afterChunk) {
+        this.afterChunk = afterChunk;
+    }
+
+    /** Rows handed to the template so far. */
+    public long rendered() {
+        return rendered;
+    }
+
+    /** Whether listing stopped at {@code maxRows} with more rows left in the cursor. */
+    public boolean truncated() {
+        return truncated;
+    }
+
+    @Override
+    public TemplateModel get(String key) {
+        return switch (key) {
+            case "truncated" -> truncated ? TemplateBooleanModel.TRUE : TemplateBooleanModel.FALSE;
+            case "maxRows" -> new SimpleNumber(maxRows);
+            default -> null;
+        };
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return false;
+    }
+
+    @Override
+    public TemplateModelIterator iterator() throws TemplateModelException {
+        if (open != null) {
+            throw new TemplateModelException("Streamed rows can only be listed once");
+        }
+        open = source.get();
+        Iterator<T> rows = open.iterator();
+        return new TemplateModelIterator() {
+            @Override
+            public boolean hasNext() throws TemplateModelException {
+                // at a chunk boundary the previous rows are rendered and the next one not yet read
+                if (rendered > flushedAt && rendered % chunkSize == 0) {
+                    endChunk();
+                }
+                boolean more = rows.hasNext();
+                if (more && rendered >= maxRows) {
+                    truncated = true;
+                    more = false;
+                }
+                if (!more) {
+                    close();
+                }
+                return more;
+            }
+
+            @Override
+            public TemplateModel next() throws TemplateModelException {
+                rendered++;
+                return Environment.getCurrentEnvironment().getObjectWrapper().wrap(rows.next());
+            }
+        };
+    }
+
+    private void endChunk() throws TemplateModelException {
+        flushedAt = rendered;
+        try {
+            Environment.getCurrentEnvironment().getOut().flush();
+        } catch (IOException e) {
+            throw new TemplateModelException("Could not flush streamed rows", e);
+        }
+        afterChunk.run();
+    }
+
+    void close() {
+        if (open != null) {
+            open.close();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.project.config;
+
+import freemarker.template.TemplateDirectiveModel;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.view.freemarker.FreeMarkerView;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * FreeMarker view that renders pages carrying {@link StreamedRows} inside a
+ * read-only transaction, so the rows' cursor stays open while the template
+ * walks it. The request's open-in-view EntityManager is set aside while the
+ * page renders, so the transaction opens its own persistence context: clearing
+ * it after every chunk drops only streamed rows, and other model entities stay
+ * managed (and lazy-loadable) in the request's. The response buffer is capped
+ * at {@code app.views.streaming-buffer} and templates can call {@code <@flush/>}
+ * after the layout head to send it before any row is read. Pages without
+ * streamed rows render as usual.
+ */
+public class StreamingFreeMarkerView extends FreeMarkerView {
+
+    private static final TemplateDirectiveModel FLUSH = (env, params, loopVars, body) -> env.getOut().flush();
+
+    @Override
+    protected void renderMergedTemplateModel(Map<String, Object> model, HttpServletRequest request,
+                                             HttpServletResponse response) throws Exception {
+        List<StreamedRows<?>> streams = new ArrayList<>();
+        for (Object value : model.values()) {
+            if (value instanceof StreamedRows<?> rows) {
+                streams.add(rows);
+            }
+        }
+        if (streams.isEmpty()) {
+            super.renderMergedTemplateModel(model, request, response);
+            return;
+        }
+
+        StreamingLists settings = obtainApplicationContext().getBean(StreamingLists.class);
+        EntityManagerFactory emf = obtainApplicationContext().getBean(EntityManagerFactory.class);
+        TransactionTemplate readOnlyTx = new TransactionTemplate(obtainApplicationContext().getBean(PlatformTransactionManager.class));
+        readOnlyTx.setReadOnly(true);
+
+        model.put("flush", FLUSH);
+        response.setBufferSize(settings.bufferSize());
+        // set aside the open-in-view EntityManager so the transaction opens a fresh one
+        EntityManagerHolder requestEm = (EntityManagerHolder) TransactionSynchronizationManager.unbindResourceIfPossible(emf);
+        try {
+            readOnlyTx.executeWithoutResult(status -> {
+                EntityManager em = EntityManagerFactoryUtils.getTransactionalEntityManager(emf);
+                if (em != null) {
+                    streams.forEach(rows -> rows.afterChunk(em::clear));
+                }
+                try {
+                    super.renderMergedTemplateModel(model, request, response);
+                } catch (Exception e) {
+                    throw new RenderFailure(e);
+                }
+            });
+        } catch (RenderFailure e) {
+            throw (Exception) e.getCause();
+        } finally {
+            streams.forEach(StreamedRows::close);
+            if (requestEm != null) {
+                TransactionSynchronizationManager.bindResource(emf, requestEm);
+            }
+        }
+    }
+
+    private static final class RenderFailure extends RuntimeException {
+        RenderFailure(Exception cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.project.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Switch and limits for streamed list pages ({@code app.views.streaming-lists}).
+ * When on, list controllers hand the view a {@link StreamedRows} over the whole
+ * filtered result instead of a loaded page.
+ */
+@Component
+public class StreamingLists {
+
+    @Value("${app.views.streaming-lists:false}")
+    private boolean enabled;
+
+    @Value("${app.views.streaming-chunk:200}")
+    private int chunkSize;
+
+    @Value("${app.views.streaming-max-rows:50000}")
+    private long maxRows;
+
+    @Value("${app.views.streaming-buffer:8192}")
+    private int bufferSize;
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    public <T> StreamedRows<T> rows(Supplier<Stream<T>> source) {
+        return new StreamedRows<>(source, chunkSize, maxRows);
+    }
+
+    /** Response buffer for streamed pages; output beyond it goes to the client. */
+    int bufferSize() {
+        return bufferSize;
+    }
+}
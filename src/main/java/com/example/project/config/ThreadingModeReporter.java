@@ -0,0 +1,42 @@
+package com.example.project.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Logs the request threading mode and pool size at startup, and warns when
+ * virtual threads are requested on a JVM that cannot provide them (Spring
+ * Boot then silently keeps the platform thread pool).
+ */
+@Component
+public class ThreadingModeReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadingModeReporter.class);
+
+    private final DataSource dataSource;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualRequested;
+
+    public ThreadingModeReporter(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        int pool = dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : -1;
+        if (virtualRequested && Runtime.version().feature() < 21) {
+            log.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; using platform threads",
+                    Runtime.version().feature());
+            return;
+        }
+        log.info("Request threads: {}, JDBC pool max size: {}", virtualRequested ? "virtual" : "platform", pool);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.project.config;
+
+import com.example.project.controller.ExportRestController;
+import com.example.project.service.CollectionVersions;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+import org.springframework.web.servlet.view.freemarker.FreeMarkerViewResolver;
+
+import java.time.Duration;
+
+import static com.example.project.service.CollectionVersions.*;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final CollectionVersions versions;
+    private final long exportTimeoutMs;
+    private final AsyncTaskExecutor asyncExecutor;
+
+    public WebConfig(CollectionVersions versions,
+                     @Value("${app.export.async-timeout-ms:-1}") long exportTimeoutMs,
+                     @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) AsyncTaskExecutor asyncExecutor) {
+        this.versions = versions;
+        this.exportTimeoutMs = exportTimeoutMs;
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    /** FreeMarker views that can stream {@link StreamedRows}; other pages render as before. */
+    @Bean
+    public static BeanPostProcessor streamingFreeMarkerViews() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof FreeMarkerViewResolver resolver) {
+                    resolver.setViewClass(StreamingFreeMarkerView.class);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Full exports stream for as long as the table takes to read, so they are
+     * exempt from the default async request timeout (about 30 s in Tomcat)
+     * that would otherwise cut them off part way. {@code -1} means no limit.
+     * Async work runs on {@code applicationTaskExecutor} (see {@link ExecutorConfig}).
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(asyncExecutor);
+        configurer.registerCallableInterceptors(new ControllerAsyncTimeout(ExportRestController.class, exportTimeoutMs));
+    }
+
+    /**
+     * Conditional GET for pages and collections whose content depends only on
+     * the listed collections (and the query string, which is part of the URL).
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConditionalGetInterceptor(versions, DOCTORS, DEPARTMENTS))
+                .addPathPatterns("/doctors", "/departments");
+        registry.addInterceptor(new ConditionalGetInterceptor(versions, INVOICES, PATIENTS))
+                .addPathPatterns("/billing", "/api/invoices/seek");
+        registry.addInterceptor(new ConditionalGetInterceptor(versions, ADMISSIONS, PATIENTS, DOCTORS))
+                .addPathPatterns("/api/admissions/search");
+        // doctor options carry their department's name
+        registry.addInterceptor(new ConditionalGetInterceptor(versions, DOCTORS, DEPARTMENTS))
+                .addPathPatterns("/api/lookup/doctors");
+        registry.addInterceptor(new ConditionalGetInterceptor(versions, DEPARTMENTS))
+                .addPathPatterns("/api/lookup/departments");
+    }
+
+    /**
+     * Stylesheets are served under content-hash URLs ({@code /css/app-<md5>.css})
+     * and cached for a year; templates get the URL from {@code assets.url(...)}.
+     */
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/css/**")
+                .addResourceLocations("classpath:/static/css/")
+                .setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                .resourceChain(true)
+                .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+    }
+}
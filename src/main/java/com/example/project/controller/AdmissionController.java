@@ -1,28 +1,31 @@
 package com.example.project.controller;
 
+import com.example.project.config.StreamingLists;
+import com.example.project.dto.DoctorOption;
+import com.example.project.dto.PatientOption;
 import com.example.project.model.Admission;
-import com.example.project.model.Patient;
-import com.example.project.model.Doctor;
+import com.example.project.service.AdmissionFilter;
+import com.example.project.service.AdmissionQueryService;
 import com.example.project.service.AdmissionService;
-import com.example.project.service.PatientService;
-import com.example.project.service.DoctorService;
+import com.example.project.service.ParallelLoader;
+import com.example.project.service.ReferenceDataService;
+import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Controller
 @RequestMapping("/admissions")
 public class AdmissionController {
     private final AdmissionService admissionService;
-    private final PatientService patientService;
-    private final DoctorService doctorService;
-    public AdmissionController(AdmissionService as, PatientService ps, DoctorService ds){ this.admissionService = as; this.patientService = ps; this.doctorService = ds; }
+    private final AdmissionQueryService admissionQueryService;
+    private final ReferenceDataService referenceDataService;
+    private final ParallelLoader parallelLoader;
+    private final StreamingLists streamingLists;
+    public AdmissionController(AdmissionService as, AdmissionQueryService aqs, ReferenceDataService rds, ParallelLoader pl, StreamingLists sl){ this.admissionService = as; this.admissionQueryService = aqs; this.referenceDataService = rds; this.parallelLoader = pl; this.streamingLists = sl; }
 
     @GetMapping
     public String list(Model model,
@@ -30,38 +33,28 @@ public class AdmissionController {
                        @RequestParam(value = "from", required = false) String from,
                        @RequestParam(value = "to", required = false) String to,
                        @RequestParam(value = "patientId", required = false) Long patientId,
-                       @RequestParam(value = "doctorId", required = false) Long doctorId){
-        List<Admission> admissions = admissionService.findAll();
+                       @RequestParam(value = "doctorId", required = false) Long doctorId,
+                       @RequestParam(value = "page", defaultValue = "0") int page,
+                       @RequestParam(value = "size", defaultValue = "50") int size){
+        AdmissionFilter filter = AdmissionFilter.of(status, from, to, patientId, doctorId);
+        boolean streaming = streamingLists.enabled();
+        // only the side lists may degrade; the admissions list itself runs here and fails the request
+        ParallelLoader.Results results = parallelLoader.load(List.of(
+                ParallelLoader.section("patients", referenceDataService::patientOptions, List.<PatientOption>of()),
+                ParallelLoader.section("doctors", referenceDataService::doctorOptions, List.<DoctorOption>of())));
 
-        if(status != null && !status.isBlank()){
-            String s = status.trim().toUpperCase();
-            admissions = admissions.stream().filter(a -> a.getStatus()!=null && a.getStatus().toUpperCase().equals(s)).collect(Collectors.toList());
+        if (streaming) {
+            // streamed mode reads the whole filtered list while the view renders it
+            model.addAttribute("admissions", streamingLists.rows(admissionQueryService.stream(filter)));
+        } else {
+            Page<Admission> result = admissionQueryService.search(filter, page, size);
+            model.addAttribute("admissionsPage", result);
+            model.addAttribute("admissions", result.getContent());
         }
-
-        DateTimeFormatter df = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        if(from != null && !from.isBlank()){
-            try{
-                LocalDate fromDate = LocalDate.parse(from, df);
-                admissions = admissions.stream().filter(a -> a.getAdmittedAt()!=null && !a.getAdmittedAt().toLocalDate().isBefore(fromDate)).collect(Collectors.toList());
-            }catch(Exception ignored){}
-        }
-        if(to != null && !to.isBlank()){
-            try{
-                LocalDate toDate = LocalDate.parse(to, df);
-                admissions = admissions.stream().filter(a -> a.getAdmittedAt()!=null && !a.getAdmittedAt().toLocalDate().isAfter(toDate)).collect(Collectors.toList());
-            }catch(Exception ignored){}
-        }
-
-        if(patientId != null){
-            admissions = admissions.stream().filter(a -> a.getPatient()!=null && patientId.equals(a.getPatient().getId())).collect(Collectors.toList());
-        }
-        if(doctorId != null){
-            admissions = admissions.stream().filter(a -> a.getDoctor()!=null && doctorId.equals(a.getDoctor().getId())).collect(Collectors.toList());
-        }
-
-        model.addAttribute("admissions", admissions);
-        model.addAttribute("patients", patientService.getAllPatients());
-        model.addAttribute("doctors", doctorService.findAll());
+        model.addAttribute("streamingList", streaming);
+        results.values().forEach(model::addAttribute);
+        model.addAttribute("degradedSections", List.copyOf(results.degraded()));
+        model.addAttribute("patientLookupUrl", "/api/lookup/patients");
         model.addAttribute("active", "admissions");
 
         // expose filter values to template
@@ -69,6 +62,7 @@ public class AdmissionController {
         model.addAttribute("filterFrom", from);
         model.addAttribute("filterTo", to);
         model.addAttribute("filterPatientId", patientId);
+        model.addAttribute("filterPatient", referenceDataService.patientOption(patientId).orElse(null));
         model.addAttribute("filterDoctorId", doctorId);
 
         return "freemarker/admissions/list";
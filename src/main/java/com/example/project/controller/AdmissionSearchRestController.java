@@ -0,0 +1,30 @@
+package com.example.project.controller;
+
+import com.example.project.dto.AdmissionListItem;
+import com.example.project.service.AdmissionFilter;
+import com.example.project.service.AdmissionQueryService;
+import org.springframework.data.web.PagedModel;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Filtered, paged admission listing for API clients. Same filters as the
+ * admissions page; use this instead of pulling the full collection.
+ */
+@RestController
+@RequestMapping("/api/admissions")
+public class AdmissionSearchRestController {
+    private final AdmissionQueryService admissionQueryService;
+    public AdmissionSearchRestController(AdmissionQueryService aqs){ this.admissionQueryService = aqs; }
+
+    @GetMapping("/search")
+    public PagedModel<AdmissionListItem> search(@RequestParam(value = "status", required = false) String status,
+                                        @RequestParam(value = "from", required = false) String from,
+                                        @RequestParam(value = "to", required = false) String to,
+                                        @RequestParam(value = "patientId", required = false) Long patientId,
+                                        @RequestParam(value = "doctorId", required = false) Long doctorId,
+                                        @RequestParam(value = "page", defaultValue = "0") int page,
+                                        @RequestParam(value = "size", defaultValue = "50") int size){
+        AdmissionFilter filter = AdmissionFilter.of(status, from, to, patientId, doctorId);
+        return new PagedModel<>(admissionQueryService.searchRows(filter, page, size));
+    }
+}
@@ -1,10 +1,20 @@
 package com.example.project.controller;
 
+import com.example.project.config.StreamingLists;
+import com.example.project.dto.PatientOption;
 import com.example.project.model.Appointment;
 import com.example.project.model.Patient;
+import com.example.project.service.AppointmentQueryService;
 import com.example.project.service.AppointmentService;
+import com.example.project.service.AppointmentSlotService;
+import com.example.project.service.ParallelLoader;
 import com.example.project.service.PatientService;
+import com.example.project.service.ReferenceDataService;
+import com.example.project.util.DateTimeParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -12,49 +22,72 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.List;
 
 @Controller
 @RequestMapping("/appointments")
 public class AppointmentController {
 
+    private static final Logger log = LoggerFactory.getLogger(AppointmentController.class);
+
     private final AppointmentService appointmentService;
     private final PatientService patientService;
+    private final ReferenceDataService referenceDataService;
+    private final AppointmentSlotService appointmentSlotService;
+    private final ParallelLoader parallelLoader;
+    private final AppointmentQueryService appointmentQueryService;
+    private final StreamingLists streamingLists;
 
     @Autowired
-    public AppointmentController(AppointmentService appointmentService, PatientService patientService) {
+    public AppointmentController(AppointmentService appointmentService, PatientService patientService,
+                                 ReferenceDataService referenceDataService,
+                                 AppointmentSlotService appointmentSlotService,
+                                 ParallelLoader parallelLoader,
+                                 AppointmentQueryService appointmentQueryService,
+                                 StreamingLists streamingLists) {
         this.appointmentService = appointmentService;
         this.patientService = patientService;
+        this.referenceDataService = referenceDataService;
+        this.appointmentSlotService = appointmentSlotService;
+        this.parallelLoader = parallelLoader;
+        this.appointmentQueryService = appointmentQueryService;
+        this.streamingLists = streamingLists;
     }
 
     @GetMapping
-    public String listAppointments(Model model) {
+    public String listAppointments(Model model,
+                                   @RequestParam(value = "days", required = false) Integer days,
+                                   @RequestParam(value = "page", defaultValue = "0") int page,
+                                   @RequestParam(value = "size", defaultValue = "20") int size) {
         try {
-            List<Appointment> todayAppointments = appointmentService.getTodaysAppointments();
-            List<Appointment> upcomingAppointments = appointmentService.getUpcomingAppointments();
-
-            // Add debug information
-            todayAppointments.forEach(appointment -> {
-                System.out.println("Today's appointment date: " + appointment.getAppointmentDateTime());
-            });
-
-            upcomingAppointments.forEach(appointment -> {
-                System.out.println("Upcoming appointment date: " + appointment.getAppointmentDateTime());
-            });
-
-            // Add patients list for quick-scheduling from the appointments page
-            List<Patient> patients = patientService.getAllPatients();
-
-            model.addAttribute("todayAppointments", todayAppointments);
-            model.addAttribute("upcomingAppointments", upcomingAppointments);
-            model.addAttribute("patients", patients);
+            boolean streaming = streamingLists.enabled();
+            // Independent side sections, loaded in parallel; the patients list is for quick-scheduling.
+            // The upcoming list is the page itself, so it runs here and is never replaced by a fallback.
+            ParallelLoader.Results results = parallelLoader.load(List.of(
+                    ParallelLoader.section("todayAppointments", appointmentQueryService::today, List.<Appointment>of()),
+                    ParallelLoader.section("patients", referenceDataService::patientOptions, List.<PatientOption>of())));
+            List<Appointment> todayAppointments = results.get("todayAppointments");
+
+            results.values().forEach(model::addAttribute);
+            if (streaming) {
+                // streamed mode reads the whole window while the view renders it
+                model.addAttribute("upcomingAppointments", streamingLists.rows(appointmentQueryService.upcomingStream(days)));
+            } else {
+                // next N days only, paged; the schedule can be booked months ahead
+                Page<Appointment> upcomingPage = appointmentQueryService.upcoming(days, page, size);
+                log.debug("Listing appointments: {} today, {} upcoming", todayAppointments.size(), upcomingPage.getNumberOfElements());
+                model.addAttribute("upcomingPage", upcomingPage);
+                model.addAttribute("upcomingAppointments", upcomingPage.getContent());
+            }
+            model.addAttribute("streamingList", streaming);
+            model.addAttribute("upcomingDays", appointmentQueryService.windowDays(days));
+            model.addAttribute("degradedSections", List.copyOf(results.degraded()));
+            model.addAttribute("patientLookupUrl", "/api/lookup/patients");
             model.addAttribute("active", "appointments");
 
             return "freemarker/appointments/list";
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Error loading appointments", e);
             model.addAttribute("error", "Error loading appointments: " + e.getMessage());
             return "freemarker/appointments/list";
         }
@@ -68,10 +101,11 @@ public class AppointmentController {
 
             model.addAttribute("patient", patient);
             model.addAttribute("currentDateTime", LocalDateTime.now());
+            model.addAttribute("doctors", referenceDataService.doctorOptions());
             model.addAttribute("active", "appointments");
             return "freemarker/appointments/schedule";
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Error loading schedule form for patient {}", patientId, e);
             return "freemarker/error";
         }
     }
@@ -82,12 +116,11 @@ public class AppointmentController {
             @RequestParam String appointmentDateTime,
             @RequestParam String purpose,
             @RequestParam(required = false) String notes,
+            @RequestParam(required = false) Long doctorId,
             RedirectAttributes redirectAttributes) {
         try {
-            appointmentDateTime = appointmentDateTime.replace("'", "");
-
-            // Match Flatpickr format first, then fallback to ISO
-            LocalDateTime parsedDateTime = parseDateTimeFlexible(appointmentDateTime);
+            // Flatpickr (12h/24h) or ISO
+            LocalDateTime parsedDateTime = DateTimeParser.parse(appointmentDateTime);
 
             if (parsedDateTime.isBefore(LocalDateTime.now())) {
                 redirectAttributes.addFlashAttribute("error", "Appointment date cannot be in the past");
@@ -104,12 +137,17 @@ public class AppointmentController {
             appointment.setNotes(notes);
             appointment.setStatus("SCHEDULED");
 
-            appointmentService.scheduleAppointment(appointment);
+            // With a doctor the booking claims that doctor's slot; without one it is unassigned as before
+            if (doctorId != null) {
+                appointmentSlotService.book(appointment, doctorId);
+            } else {
+                appointmentService.scheduleAppointment(appointment);
+            }
 
             redirectAttributes.addFlashAttribute("success", "Appointment scheduled successfully");
             return "redirect:/appointments";
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Error scheduling appointment for patient {}", patientId, e);
             redirectAttributes.addFlashAttribute("error", "Error scheduling appointment: " + e.getMessage());
             return "redirect:/appointments/schedule/" + patientId;
         }
@@ -126,7 +164,7 @@ public class AppointmentController {
             model.addAttribute("active", "appointments");
             return "freemarker/appointments/edit";
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Error loading appointment {}", id, e);
             return "freemarker/error";
         }
     }
@@ -142,8 +180,7 @@ public class AppointmentController {
             Appointment appointment = appointmentService.getAppointmentById(id)
                     .orElseThrow(() -> new RuntimeException("Appointment not found"));
 
-            appointmentDateTime = appointmentDateTime.replace("'", "");
-            LocalDateTime parsedDateTime = parseDateTimeFlexible(appointmentDateTime);
+            LocalDateTime parsedDateTime = DateTimeParser.parse(appointmentDateTime);
 
             if (parsedDateTime.isBefore(LocalDateTime.now())) {
                 redirectAttributes.addFlashAttribute("error", "Appointment date cannot be in the past");
@@ -154,12 +191,12 @@ public class AppointmentController {
             appointment.setPurpose(purpose);
             appointment.setNotes(notes);
 
-            appointmentService.updateAppointment(appointment);
+            appointmentSlotService.reschedule(appointment);
 
             redirectAttributes.addFlashAttribute("success", "Appointment updated successfully");
             return "redirect:/appointments";
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Error updating appointment {}", id, e);
             redirectAttributes.addFlashAttribute("error", "Error updating appointment: " + e.getMessage());
             return "redirect:/appointments/edit/" + id;
         }
@@ -168,11 +205,11 @@ public class AppointmentController {
     @GetMapping("/cancel/{id}")
     public String cancelAppointment(@PathVariable Long id, RedirectAttributes redirectAttributes) {
         try {
-            appointmentService.cancelAppointment(id);
+            appointmentSlotService.cancel(id);
             redirectAttributes.addFlashAttribute("success", "Appointment cancelled successfully");
             return "redirect:/appointments";
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Error cancelling appointment {}", id, e);
             redirectAttributes.addFlashAttribute("error", "Error cancelling appointment: " + e.getMessage());
             return "redirect:/appointments";
         }
@@ -185,79 +222,9 @@ public class AppointmentController {
             redirectAttributes.addFlashAttribute("success", "Appointment marked as completed");
             return "redirect:/appointments";
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Error completing appointment {}", id, e);
             redirectAttributes.addFlashAttribute("error", "Error completing appointment: " + e.getMessage());
             return "redirect:/appointments";
         }
     }
-
-    private LocalDateTime parseDateTimeFlexible(String value) {
-        // Normalize and strip quotes
-        value = value == null ? "" : value.trim();
-        if (value.startsWith("'") && value.endsWith("'")) {
-            value = value.substring(1, value.length() - 1).trim();
-        }
-
-        // Normalize whitespace
-        value = value.replaceAll("\\s+", " ");
-
-        // If contains AM/PM, try a robust regex-based parse first
-        if (value.toUpperCase().contains("AM") || value.toUpperCase().contains("PM")) {
-            try {
-                String normalized = value.replace('T', ' ').trim();
-                java.util.regex.Pattern p = java.util.regex.Pattern.compile("(\\d{4}-\\d{2}-\\d{2})[ T]+(\\d{1,2}):(\\d{2})\\s*([AaPp][Mm])");
-                java.util.regex.Matcher m = p.matcher(normalized);
-                if (m.find()) {
-                    String datePart = m.group(1);
-                    String hourPart = m.group(2);
-                    String minutePart = m.group(3);
-                    String ampmPart = m.group(4).toUpperCase();
-
-                    java.time.LocalDate date = java.time.LocalDate.parse(datePart); // ISO date
-                    int hour = Integer.parseInt(hourPart);
-                    int minute = Integer.parseInt(minutePart);
-                    if (ampmPart.equals("PM") && hour < 12) hour += 12;
-                    if (ampmPart.equals("AM") && hour == 12) hour = 0;
-                    return java.time.LocalDateTime.of(date, java.time.LocalTime.of(hour, minute));
-                }
-            } catch (Exception ignored) {
-                // Fall through to other attempts below
-            }
-        }
-
-        // Common format attempts (with Locale.ENGLISH for AM/PM parsing)
-        java.util.Locale en = java.util.Locale.ENGLISH;
-        String[] patterns = new String[] {
-            "yyyy-MM-dd'T'HH:mm",     // 24h with T
-            "yyyy-MM-dd HH:mm",       // 24h with space
-            "yyyy-MM-dd H:mm",        // 24h single-digit hour
-            "yyyy-MM-dd h:mm a",      // 12h with AM/PM
-            "yyyy-MM-dd hh:mm a",     // 12h two-digit hour with AM/PM
-            "yyyy-MM-dd'T'h:mm a",    // 12h with T
-            "yyyy-MM-dd'T'hh:mm a"    // 12h with T and two-digit hour
-        };
-
-        for (String pat : patterns) {
-            try {
-                DateTimeFormatter fmt = DateTimeFormatter.ofPattern(pat, en);
-                return LocalDateTime.parse(value, fmt);
-            } catch (DateTimeParseException ignored) {
-            }
-        }
-
-        // Fallback: try ISO generic parse
-        try {
-            return LocalDateTime.parse(value);
-        } catch (DateTimeParseException ignored) {
-        }
-
-        // Last resort: try with seconds
-        try {
-            DateTimeFormatter withSeconds = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
-            return LocalDateTime.parse(value, withSeconds);
-        } catch (DateTimeParseException e) {
-            // rethrow as runtime so caller sees the cause (will be caught in controller)
-            throw e;
-        }
-    }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.example.project.controller;
+
+import com.example.project.service.AppointmentImportService;
+import com.example.project.service.ImportReport;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+
+/**
+ * Bulk appointment import. Send the file as the request body
+ * ({@code text/csv} or {@code application/x-ndjson}) or as a multipart
+ * {@code file} part; it is read as a stream, never held in memory whole.
+ */
+@RestController
+@RequestMapping("/api/appointments")
+public class AppointmentImportRestController {
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final AppointmentImportService importService;
+    public AppointmentImportRestController(AppointmentImportService is){ this.importService = is; }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ImportReport importCsv(InputStream body) throws IOException {
+        return run(body, false);
+    }
+
+    @PostMapping(value = "/import", consumes = NDJSON)
+    public ImportReport importNdjson(InputStream body) throws IOException {
+        return run(body, true);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ImportReport importFile(@RequestParam("file") MultipartFile file) throws IOException {
+        String name = file.getOriginalFilename() == null ? "" : file.getOriginalFilename().toLowerCase(Locale.ROOT);
+        boolean ndjson = NDJSON.equals(file.getContentType()) || name.endsWith(".ndjson") || name.endsWith(".jsonl");
+        try (InputStream in = file.getInputStream()) {
+            return run(in, ndjson);
+        }
+    }
+
+    private ImportReport run(InputStream in, boolean ndjson) throws IOException {
+        try {
+            return ndjson ? importService.importNdjson(in) : importService.importCsv(in);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
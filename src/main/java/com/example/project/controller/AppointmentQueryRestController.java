@@ -0,0 +1,30 @@
+package com.example.project.controller;
+
+import com.example.project.dto.AppointmentListItem;
+import com.example.project.service.AppointmentQueryService;
+import com.example.project.service.CursorPage;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Upcoming appointments within {@code days} (default 7, max 90), cursor-paginated.
+ * Pass the returned {@code nextCursor} back as {@code cursor} to continue.
+ */
+@RestController
+@RequestMapping("/api/appointments")
+public class AppointmentQueryRestController {
+    private final AppointmentQueryService appointmentQueryService;
+    public AppointmentQueryRestController(AppointmentQueryService aqs){ this.appointmentQueryService = aqs; }
+
+    @GetMapping("/upcoming")
+    public CursorPage<AppointmentListItem> upcoming(@RequestParam(value = "days", required = false) Integer days,
+                                                    @RequestParam(value = "cursor", required = false) String cursor,
+                                                    @RequestParam(value = "size", defaultValue = "20") int size){
+        try {
+            return appointmentQueryService.upcomingSeek(days, cursor, size).map(AppointmentListItem::of);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.project.controller;
+
+import com.example.project.model.Appointment;
+import com.example.project.model.Patient;
+import com.example.project.service.AppointmentSlotService;
+import com.example.project.service.PatientService;
+import com.example.project.util.DateTimeParser;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Doctor slot availability and booking. An unknown doctor answers 404, a start
+ * outside working hours 400, and a slot that is already taken 409 Conflict
+ * (see {@link com.example.project.service.SlotUnavailableException}).
+ */
+@RestController
+@RequestMapping("/api/doctors/{doctorId}/slots")
+public class AppointmentSlotRestController {
+    private static final int MAX_COUNT = 100;
+
+    private final AppointmentSlotService slotService;
+    private final PatientService patientService;
+    public AppointmentSlotRestController(AppointmentSlotService ss, PatientService ps){ this.slotService = ss; this.patientService = ps; }
+
+    @GetMapping
+    public List<LocalDateTime> freeSlots(@PathVariable Long doctorId,
+                                         @RequestParam(value = "from", required = false) String from,
+                                         @RequestParam(value = "count", defaultValue = "10") int count){
+        LocalDateTime start = from == null || from.isBlank() ? LocalDateTime.now() : parse(from);
+        return slotService.nextFreeSlots(doctorId, start, Math.max(1, Math.min(count, MAX_COUNT)));
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Map<String, Object> book(@PathVariable Long doctorId,
+                                    @RequestParam("patientId") Long patientId,
+                                    @RequestParam("start") String start,
+                                    @RequestParam("purpose") String purpose,
+                                    @RequestParam(value = "notes", required = false) String notes){
+        LocalDateTime at = parse(start);
+        if (at.isBefore(LocalDateTime.now())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Appointment date cannot be in the past");
+        }
+        if (!slotService.doctorExists(doctorId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Doctor not found");
+        }
+        Patient patient = patientService.getPatientById(patientId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Patient not found"));
+
+        Appointment appointment = new Appointment();
+        appointment.setPatient(patient);
+        appointment.setAppointmentDateTime(at);
+        appointment.setPurpose(purpose);
+        appointment.setNotes(notes);
+        appointment.setStatus("SCHEDULED");
+        try {
+            slotService.book(appointment, doctorId);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+
+        return Map.of("appointmentId", appointment.getId(), "doctorId", doctorId,
+                "slotStart", slotService.slotStart(at));
+    }
+
+    private static LocalDateTime parse(String value) {
+        try {
+            return DateTimeParser.parse(value);
+        } catch (DateTimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
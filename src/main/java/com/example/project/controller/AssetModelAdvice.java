@@ -0,0 +1,38 @@
+package com.example.project.controller;
+
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+
+/**
+ * Exposes {@code assets} to every view: {@code ${assets.url('/css/app.css')}}
+ * renders the fingerprinted URL, replacing the per-request {@code ?v=} stamp.
+ */
+@ControllerAdvice
+public class AssetModelAdvice {
+
+    public static final class AssetUrls {
+        private final ResourceUrlProvider provider;
+
+        AssetUrls(ResourceUrlProvider provider) {
+            this.provider = provider;
+        }
+
+        /** Versioned URL for a static path, or the path unchanged if it is not a versioned resource. */
+        public String url(String path) {
+            String versioned = provider.getForLookupPath(path);
+            return versioned != null ? versioned : path;
+        }
+    }
+
+    private final AssetUrls assets;
+
+    public AssetModelAdvice(ResourceUrlProvider mvcResourceUrlProvider) {
+        this.assets = new AssetUrls(mvcResourceUrlProvider);
+    }
+
+    @ModelAttribute("assets")
+    public AssetUrls assets() {
+        return assets;
+    }
+}
@@ -1,59 +1,58 @@
 package com.example.project.controller;
 
+import com.example.project.config.StreamingLists;
 import com.example.project.model.Invoice;
 import com.example.project.model.Patient;
+import com.example.project.service.CursorPage;
+import com.example.project.service.InvoiceFilter;
+import com.example.project.service.InvoiceQueryService;
 import com.example.project.service.InvoiceService;
 import com.example.project.service.PatientService;
+import com.example.project.service.ReferenceDataService;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @Controller
 @RequestMapping("/billing")
 public class BillingController {
     private final InvoiceService invoiceService;
     private final PatientService patientService;
-    public BillingController(InvoiceService is, PatientService ps){ this.invoiceService = is; this.patientService = ps; }
+    private final InvoiceQueryService invoiceQueryService;
+    private final ReferenceDataService referenceDataService;
+    private final StreamingLists streamingLists;
+    public BillingController(InvoiceService is, PatientService ps, InvoiceQueryService iqs, ReferenceDataService rds, StreamingLists sl){ this.invoiceService = is; this.patientService = ps; this.invoiceQueryService = iqs; this.referenceDataService = rds; this.streamingLists = sl; }
 
     @GetMapping
     public String list(Model model,
                        @RequestParam(value = "status", required = false) String status,
                        @RequestParam(value = "from", required = false) String from,
                        @RequestParam(value = "to", required = false) String to,
-                       @RequestParam(value = "patientId", required = false) Long patientId){
-        List<Invoice> invoices = invoiceService.findAll();
-
-        // Filter in-memory (safe for small datasets)
-        if(status != null && !status.isBlank()){
-            String s = status.trim().toUpperCase();
-            invoices = invoices.stream().filter(inv -> inv.getStatus() != null && inv.getStatus().toUpperCase().equals(s)).collect(Collectors.toList());
-        }
-        DateTimeFormatter df = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        if(from != null && !from.isBlank()){
-            try{
-                LocalDate fromDate = LocalDate.parse(from, df);
-                invoices = invoices.stream().filter(inv -> inv.getIssuedAt()!=null && !inv.getIssuedAt().toLocalDate().isBefore(fromDate)).collect(Collectors.toList());
-            }catch(Exception ignored){}
-        }
-        if(to != null && !to.isBlank()){
+                       @RequestParam(value = "patientId", required = false) Long patientId,
+                       @RequestParam(value = "cursor", required = false) String cursor,
+                       @RequestParam(value = "size", defaultValue = "50") int size){
+        if(streamingLists.enabled()){
+            // whole filtered list, read from a cursor while the view renders it
+            model.addAttribute("invoices", streamingLists.rows(invoiceQueryService.stream(InvoiceFilter.of(status, from, to, patientId))));
+            model.addAttribute("nextCursor", null);
+        }else{
+            CursorPage<Invoice> page;
             try{
-                LocalDate toDate = LocalDate.parse(to, df);
-                invoices = invoices.stream().filter(inv -> inv.getIssuedAt()!=null && !inv.getIssuedAt().toLocalDate().isAfter(toDate)).collect(Collectors.toList());
-            }catch(Exception ignored){}
-        }
-        if(patientId != null){
-            invoices = invoices.stream().filter(inv -> inv.getPatient()!=null && patientId.equals(inv.getPatient().getId())).collect(Collectors.toList());
+                page = invoiceQueryService.seek(InvoiceFilter.of(status, from, to, patientId), cursor, size);
+            }catch(IllegalArgumentException badCursor){
+                // stale or hand-edited cursor: start over from the first page
+                page = invoiceQueryService.seek(InvoiceFilter.of(status, from, to, patientId), null, size);
+            }
+            model.addAttribute("invoices", page.items());
+            model.addAttribute("nextCursor", page.nextCursor());
         }
-
-        model.addAttribute("invoices", invoices);
-        model.addAttribute("patients", patientService.getAllPatients());
+        model.addAttribute("currentCursor", streamingLists.enabled() ? null : cursor);
+        model.addAttribute("streamingList", streamingLists.enabled());
+        model.addAttribute("patients", referenceDataService.patientOptions());
+        model.addAttribute("patientLookupUrl", "/api/lookup/patients");
         model.addAttribute("active", "billing");
 
         // Keep filter state so template can reflect current filters
@@ -61,6 +60,7 @@ public class BillingController {
         model.addAttribute("filterFrom", from);
         model.addAttribute("filterTo", to);
         model.addAttribute("filterPatientId", patientId);
+        model.addAttribute("filterPatient", referenceDataService.patientOption(patientId).orElse(null));
 
         return "freemarker/billing/list";
     }
@@ -0,0 +1,55 @@
+package com.example.project.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hit/miss/eviction counters for the application caches and the Hibernate
+ * second-level cache regions.
+ */
+@RestController
+public class CacheStatsRestController {
+    private final CacheManager cacheManager;
+    private final Statistics statistics;
+    public CacheStatsRestController(CacheManager cacheManager, EntityManagerFactory emf){
+        this.cacheManager = cacheManager;
+        this.statistics = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @GetMapping("/api/cache/stats")
+    public Map<String, Object> stats(){
+        Map<String, Object> app = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(name) instanceof CaffeineCache cc) {
+                CacheStats s = cc.getNativeCache().stats();
+                app.put(name, Map.of("hits", s.hitCount(), "misses", s.missCount(), "evictions", s.evictionCount(),
+                        "size", cc.getNativeCache().estimatedSize()));
+            }
+        }
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics s = statistics.getCacheRegionStatistics(region);
+            if (s == null) continue;
+            regions.put(region, Map.of("hits", s.getHitCount(), "misses", s.getMissCount(), "puts", s.getPutCount()));
+        }
+
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("application", app);
+        m.put("secondLevel", regions);
+        m.put("queryCache", Map.of("hits", statistics.getQueryCacheHitCount(),
+                "misses", statistics.getQueryCacheMissCount(), "puts", statistics.getQueryCachePutCount()));
+        m.put("entityFetches", statistics.getEntityFetchCount());
+        return m;
+    }
+}
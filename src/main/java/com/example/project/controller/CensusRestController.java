@@ -0,0 +1,133 @@
+package com.example.project.controller;
+
+import com.example.project.service.CensusService;
+import com.example.project.service.CensusSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admission census: occupancy and length of stay by doctor, department and
+ * status. {@code /api/census} returns the current snapshot from memory;
+ * {@code /api/census/stream} is a server-sent-event feed for census boards
+ * that receives a {@code census} event whenever the numbers change.
+ * Events are written on {@code sseSendExecutor}, never on the publishing
+ * (scheduler) thread, so a slow board cannot hold up other scheduled jobs.
+ */
+@RestController
+@RequestMapping("/api/census")
+public class CensusRestController {
+    private static final Logger log = LoggerFactory.getLogger(CensusRestController.class);
+
+    /** Events a board may fall behind by before it is dropped. */
+    private static final int MAX_BACKLOG = 16;
+
+    private final CensusService censusService;
+    private final ThreadPoolTaskExecutor sendExecutor;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    @Value("${app.census.sse-timeout-ms:1800000}")
+    private long sseTimeoutMs;
+
+    public CensusRestController(CensusService cs, @Qualifier("sseSendExecutor") ThreadPoolTaskExecutor se){ this.censusService = cs; this.sendExecutor = se; }
+
+    @GetMapping
+    public CensusSnapshot census(){
+        return censusService.snapshot();
+    }
+
+    @GetMapping(value = "/stream", produces = "text/event-stream")
+    public SseEmitter stream() {
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        // queued like any other event, so a newer snapshot cannot overtake it
+        subscriber.enqueue(SseEmitter.event().name("census").data(censusService.snapshot()));
+        return emitter;
+    }
+
+    @EventListener
+    public void onSnapshot(CensusSnapshot snapshot){
+        for (Subscriber subscriber : subscribers) {
+            subscriber.enqueue(SseEmitter.event().name("census").data(snapshot));
+        }
+    }
+
+    /** Comment frames keep idle connections open through proxies. */
+    @Scheduled(fixedDelayString = "${app.census.heartbeat-ms:25000}")
+    public void heartbeat(){
+        for (Subscriber subscriber : subscribers) {
+            subscriber.enqueue(SseEmitter.event().comment("keep-alive"));
+        }
+    }
+
+    /** One census board; its events are written in order, by one send task at a time. */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> backlog = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter){ this.emitter = emitter; }
+
+        void enqueue(SseEmitter.SseEventBuilder event){
+            if (queued.incrementAndGet() > MAX_BACKLOG) {
+                drop(new IllegalStateException("more than " + MAX_BACKLOG + " census events behind"));
+                return;
+            }
+            backlog.add(event);
+            schedule();
+        }
+
+        private void schedule(){
+            if (!draining.compareAndSet(false, true)) return;
+            try {
+                sendExecutor.execute(this::drain);
+            } catch (TaskRejectedException e) {
+                drop(e);
+            }
+        }
+
+        private void drain(){
+            SseEmitter.SseEventBuilder event;
+            while ((event = backlog.poll()) != null) {
+                queued.decrementAndGet();
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    drop(e);
+                    return;
+                }
+            }
+            draining.set(false);
+            // an event queued after the last poll but before the flag was cleared
+            if (!backlog.isEmpty()) schedule();
+        }
+
+        private void drop(Exception e){
+            backlog.clear();
+            if (subscribers.remove(this)) {
+                log.debug("Dropping census subscriber: {}", e.getMessage());
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
@@ -1,39 +1,44 @@
 package com.example.project.controller;
 
-import com.example.project.service.PatientService;
-import com.example.project.service.AdmissionService;
-import com.example.project.service.PrescriptionService;
-import com.example.project.service.InvoiceService;
-import com.example.project.service.DoctorService;
+import com.example.project.service.DashboardMetricsCache;
+import com.example.project.service.DashboardSectionService;
+import com.example.project.service.DashboardStats;
+import com.example.project.service.DashboardStatsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.server.ResponseStatusException;
+import java.math.RoundingMode;
 import java.util.HashMap;
 import java.util.Map;
-import java.time.LocalDate;
 
 @Controller
 public class DashboardController {
 
-    private final PatientService patientService;
-    private final AdmissionService admissionService;
-    private final PrescriptionService prescriptionService;
-    private final InvoiceService invoiceService;
-    private final DoctorService doctorService;
+    private static final Logger log = LoggerFactory.getLogger(DashboardController.class);
+
+    private final DashboardStatsService dashboardStatsService;
+    private final DashboardMetricsCache dashboardMetricsCache;
+    private final DashboardSectionService dashboardSectionService;
+
+    @Value("${app.dashboard.recent-limit:10}")
+    private int recentLimit;
 
     @Autowired
-    public DashboardController(PatientService patientService,
-                               AdmissionService admissionService,
-                               PrescriptionService prescriptionService,
-                               InvoiceService invoiceService,
-                               DoctorService doctorService) {
-        this.patientService = patientService;
-        this.admissionService = admissionService;
-        this.prescriptionService = prescriptionService;
-        this.invoiceService = invoiceService;
-        this.doctorService = doctorService;
+    public DashboardController(DashboardStatsService dashboardStatsService,
+                               DashboardMetricsCache dashboardMetricsCache,
+                               DashboardSectionService dashboardSectionService) {
+        this.dashboardStatsService = dashboardStatsService;
+        this.dashboardMetricsCache = dashboardMetricsCache;
+        this.dashboardSectionService = dashboardSectionService;
     }
 
     @GetMapping("/")
@@ -44,59 +49,50 @@ public class DashboardController {
     @GetMapping("/dashboard")
     public String dashboard(Model model) {
         try {
-            model.addAttribute("totalPatients", patientService.getAllPatients().size());
-            model.addAttribute("patients", patientService.getAllPatients());
-            model.addAttribute("todayAppointments", patientService.getTodaysAppointments());
-            model.addAttribute("upcomingAppointments", patientService.getUpcomingAppointments());
-            model.addAttribute("admissions", admissionService.findAll());
-            model.addAttribute("prescriptions", prescriptionService.findAll());
-            model.addAttribute("invoices", invoiceService.findAll());
-            model.addAttribute("totalDoctors", doctorService.findAll().size());
+            DashboardStats stats = dashboardMetricsCache.snapshot();
+            model.addAttribute("totalPatients", stats.totalPatients());
+            // exact counters; the section lists below are capped and cannot be summed
+            model.addAttribute("newPatientsToday", stats.newPatientsToday());
+            model.addAttribute("todayAppointmentsCount", stats.todayAppointments());
+            model.addAttribute("unpaidTotal", stats.unpaidTotal());
+            model.addAttribute("totalDoctors", dashboardStatsService.countDoctors());
+            // the recent lists are fetched by the page from /dashboard/sections/{name}
             // Change this to match your template path
             return "freemarker/dashboard";
         } catch (Exception e) {
-            e.printStackTrace(); // Add this to see errors in console
+            log.error("Error loading dashboard", e);
             return "freemarker/error";
         }
     }
 
+    /**
+     * One dashboard section as an HTML fragment, so the page can load sections lazily and concurrently.
+     */
+    @GetMapping("/dashboard/sections/{name}")
+    public String dashboardSection(@PathVariable String name,
+                                   @RequestParam(value = "limit", required = false) Integer limit,
+                                   Model model) {
+        if (!DashboardSectionService.SECTIONS.contains(name)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown section");
+        }
+        model.addAttribute("section", name);
+        model.addAttribute("items", dashboardSectionService.section(name, limit == null ? recentLimit : limit));
+        return "freemarker/dashboard/section";
+    }
+
     @GetMapping(value = "/dashboard/stats", produces = "application/json")
     @ResponseBody
     public Map<String, Object> dashboardStats() {
         Map<String, Object> m = new HashMap<>();
         try {
-            int totalPatients = patientService.getAllPatients().size();
-            // compute new patients today
-            java.time.LocalDateTime startOfDay = java.time.LocalDate.now().atStartOfDay();
-            java.time.LocalDateTime endOfDay = startOfDay.plusDays(1);
-            long newPatientsToday = 0L;
-            try{
-                newPatientsToday = patientService.countPatientsCreatedBetween(startOfDay, endOfDay);
-            }catch(Exception ignore){ newPatientsToday = 0L; }
-
-            int todayAppointmentsCount = patientService.getTodaysAppointments().size();
-
-            double unpaidTotal = 0.0;
-            try {
-                var invoices = invoiceService.findAll();
-                for (var inv : invoices) {
-                    if (inv.getStatus() == null || !"PAID".equalsIgnoreCase(inv.getStatus())) {
-                        try {
-                            unpaidTotal += Double.parseDouble(String.valueOf(inv.getAmount()));
-                        } catch (Exception ex) {
-                            // ignore non-numeric
-                        }
-                    }
-                }
-            } catch (Exception ignore) {}
-
-            m.put("totalPatients", totalPatients);
-            m.put("newPatientsToday", newPatientsToday);
-            m.put("todayAppointmentsCount", todayAppointmentsCount);
-            m.put("unpaidTotal", String.format("%.2f", unpaidTotal));
+            DashboardStats stats = dashboardMetricsCache.snapshot();
+            m.put("totalPatients", stats.totalPatients());
+            m.put("newPatientsToday", stats.newPatientsToday());
+            m.put("todayAppointmentsCount", stats.todayAppointments());
+            m.put("unpaidTotal", stats.unpaidTotal().setScale(2, RoundingMode.HALF_UP).toPlainString());
             m.put("ok", true);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Error loading dashboard stats", e);
             m.put("ok", false);
             m.put("error", e.getMessage());
         }
@@ -2,6 +2,7 @@ package com.example.project.controller;
 
 import com.example.project.model.Department;
 import com.example.project.service.DepartmentService;
+import com.example.project.service.ReferenceDataService;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
@@ -11,11 +12,12 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 @RequestMapping("/departments")
 public class DepartmentController {
     private final DepartmentService service;
-    public DepartmentController(DepartmentService service){ this.service = service; }
+    private final ReferenceDataService referenceDataService;
+    public DepartmentController(DepartmentService service, ReferenceDataService referenceDataService){ this.service = service; this.referenceDataService = referenceDataService; }
 
     @GetMapping
     public String list(Model model){
-        model.addAttribute("departments", service.findAll());
+        model.addAttribute("departments", referenceDataService.departments());
         model.addAttribute("active", "departments");
         return "freemarker/departments/list";
     }
@@ -4,6 +4,7 @@ import com.example.project.model.Doctor;
 import com.example.project.model.Department;
 import com.example.project.service.DoctorService;
 import com.example.project.service.DepartmentService;
+import com.example.project.service.ReferenceDataService;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
@@ -14,12 +15,13 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 public class DoctorController {
     private final DoctorService doctorService;
     private final DepartmentService departmentService;
-    public DoctorController(DoctorService ds, DepartmentService dps){ this.doctorService = ds; this.departmentService = dps; }
+    private final ReferenceDataService referenceDataService;
+    public DoctorController(DoctorService ds, DepartmentService dps, ReferenceDataService rds){ this.doctorService = ds; this.departmentService = dps; this.referenceDataService = rds; }
 
     @GetMapping
     public String list(Model model){
-        model.addAttribute("doctors", doctorService.findAll());
-        model.addAttribute("departments", departmentService.findAll());
+        model.addAttribute("doctors", referenceDataService.doctors());
+        model.addAttribute("departments", referenceDataService.departmentOptions());
         model.addAttribute("active", "doctors");
         return "freemarker/doctors/list";
     }
@@ -52,7 +54,7 @@ public class DoctorController {
             return "freemarker/doctors/list";
         }
         model.addAttribute("doctor", opt.get());
-        model.addAttribute("departments", departmentService.findAll());
+        model.addAttribute("departments", referenceDataService.departmentOptions());
         model.addAttribute("active", "doctors");
         return "freemarker/doctors/edit";
     }
@@ -0,0 +1,66 @@
+package com.example.project.controller;
+
+import com.example.project.service.AdmissionFilter;
+import com.example.project.service.ExportService;
+import com.example.project.service.InvoiceFilter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+/**
+ * Full extracts as CSV or NDJSON ({@code format=csv|ndjson}), streamed to the
+ * client as rows are read. Same filters as the listing endpoints. These
+ * responses have their own async timeout, {@code app.export.async-timeout-ms}
+ * (see {@code WebConfig}).
+ */
+@RestController
+public class ExportRestController {
+    private final ExportService exportService;
+    public ExportRestController(ExportService es){ this.exportService = es; }
+
+    @GetMapping("/api/invoices/export")
+    public ResponseEntity<StreamingResponseBody> invoices(@RequestParam(value = "format", defaultValue = "csv") String format,
+                                                          @RequestParam(value = "status", required = false) String status,
+                                                          @RequestParam(value = "from", required = false) String from,
+                                                          @RequestParam(value = "to", required = false) String to,
+                                                          @RequestParam(value = "patientId", required = false) Long patientId){
+        ExportService.Format f = format(format);
+        InvoiceFilter filter = InvoiceFilter.of(status, from, to, patientId);
+        return attachment("invoices", f, out -> exportService.exportInvoices(filter, f, out));
+    }
+
+    @GetMapping("/api/admissions/export")
+    public ResponseEntity<StreamingResponseBody> admissions(@RequestParam(value = "format", defaultValue = "csv") String format,
+                                                            @RequestParam(value = "status", required = false) String status,
+                                                            @RequestParam(value = "from", required = false) String from,
+                                                            @RequestParam(value = "to", required = false) String to,
+                                                            @RequestParam(value = "patientId", required = false) Long patientId,
+                                                            @RequestParam(value = "doctorId", required = false) Long doctorId){
+        ExportService.Format f = format(format);
+        AdmissionFilter filter = AdmissionFilter.of(status, from, to, patientId, doctorId);
+        return attachment("admissions", f, out -> exportService.exportAdmissions(filter, f, out));
+    }
+
+    private static ExportService.Format format(String value) {
+        try {
+            return ExportService.Format.of(value);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be csv or ndjson");
+        }
+    }
+
+    private static ResponseEntity<StreamingResponseBody> attachment(String name, ExportService.Format f,
+                                                                    StreamingResponseBody body) {
+        String filename = name + "-" + LocalDate.now() + "." + f.extension;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(f.contentType + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.project.controller;
+
+import com.example.project.dto.InvoiceListItem;
+import com.example.project.service.CursorPage;
+import com.example.project.service.InvoiceFilter;
+import com.example.project.service.InvoiceQueryService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Cursor-paginated invoice listing. Pass the returned {@code nextCursor} back as
+ * {@code cursor} to continue; export jobs can walk the whole table this way.
+ */
+@RestController
+@RequestMapping("/api/invoices")
+public class InvoiceQueryRestController {
+    private final InvoiceQueryService invoiceQueryService;
+    public InvoiceQueryRestController(InvoiceQueryService iqs){ this.invoiceQueryService = iqs; }
+
+    @GetMapping("/seek")
+    public CursorPage<InvoiceListItem> seek(@RequestParam(value = "status", required = false) String status,
+                                            @RequestParam(value = "from", required = false) String from,
+                                            @RequestParam(value = "to", required = false) String to,
+                                            @RequestParam(value = "patientId", required = false) Long patientId,
+                                            @RequestParam(value = "cursor", required = false) String cursor,
+                                            @RequestParam(value = "size", defaultValue = "100") int size){
+        try {
+            return invoiceQueryService.seek(InvoiceFilter.of(status, from, to, patientId), cursor, size)
+                    .map(InvoiceListItem::of);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.project.controller;
+
+import com.example.project.dto.DepartmentOption;
+import com.example.project.dto.DoctorOption;
+import com.example.project.dto.PatientOption;
+import com.example.project.service.PatientSearchService;
+import com.example.project.service.ReferenceDataService;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Compact lookups for form dropdowns and the patient typeahead.
+ */
+@RestController
+@RequestMapping("/api/lookup")
+public class LookupRestController {
+    private final ReferenceDataService referenceDataService;
+    private final PatientSearchService patientSearchService;
+    public LookupRestController(ReferenceDataService rds, PatientSearchService pss){ this.referenceDataService = rds; this.patientSearchService = pss; }
+
+    @GetMapping("/patients")
+    public List<PatientOption> patients(@RequestParam("q") String q,
+                                        @RequestParam(value = "limit", defaultValue = "20") int limit){
+        return patientSearchService.typeahead(q, limit);
+    }
+
+    @GetMapping("/doctors")
+    public List<DoctorOption> doctors(){
+        return referenceDataService.doctorOptions();
+    }
+
+    @GetMapping("/departments")
+    public List<DepartmentOption> departments(){
+        return referenceDataService.departmentOptions();
+    }
+}
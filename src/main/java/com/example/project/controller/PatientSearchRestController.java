@@ -0,0 +1,33 @@
+package com.example.project.controller;
+
+import com.example.project.dto.PatientOption;
+import com.example.project.dto.PatientSearchHit;
+import com.example.project.service.PatientSearchService;
+import org.springframework.data.web.PagedModel;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Patient search backed by the full-text index: ranked pages for the search
+ * screen and short prefix suggestions for typeahead inputs.
+ */
+@RestController
+@RequestMapping("/api/patients")
+public class PatientSearchRestController {
+    private final PatientSearchService patientSearchService;
+    public PatientSearchRestController(PatientSearchService pss){ this.patientSearchService = pss; }
+
+    @GetMapping("/search")
+    public PagedModel<PatientSearchHit> search(@RequestParam("q") String q,
+                                               @RequestParam(value = "page", defaultValue = "0") int page,
+                                               @RequestParam(value = "size", defaultValue = "20") int size){
+        return new PagedModel<>(patientSearchService.search(q, page, size));
+    }
+
+    @GetMapping("/typeahead")
+    public List<PatientOption> typeahead(@RequestParam("q") String q,
+                                         @RequestParam(value = "limit", defaultValue = "10") int limit){
+        return patientSearchService.typeahead(q, limit);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.project.controller;
+
+import com.example.project.service.PatientTimelineService;
+import com.example.project.service.TimelinePage;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * A patient's history, appointments, prescriptions and invoices as one
+ * newest-first, paged timeline.
+ */
+@RestController
+@RequestMapping("/api/patients")
+public class PatientTimelineRestController {
+    private final PatientTimelineService patientTimelineService;
+    public PatientTimelineRestController(PatientTimelineService pts){ this.patientTimelineService = pts; }
+
+    @GetMapping("/{patientId}/timeline")
+    public TimelinePage timeline(@PathVariable Long patientId,
+                                 @RequestParam(value = "page", defaultValue = "0") int page,
+                                 @RequestParam(value = "size", defaultValue = "20") int size){
+        return patientTimelineService.timeline(patientId, page, size);
+    }
+}
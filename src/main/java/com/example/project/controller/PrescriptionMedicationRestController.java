@@ -0,0 +1,52 @@
+package com.example.project.controller;
+
+import com.example.project.model.PrescriptionMedication;
+import com.example.project.service.PrescriptionQueryService;
+import org.springframework.data.web.PagedModel;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+
+/**
+ * Structured medication lookups. {@code /medications} takes any of drug,
+ * patientId and doctorId (at least one, all applied) plus an optional
+ * issue-date range;
+ * {@code /medications/patients} lists patients prescribed a drug recently.
+ */
+@RestController
+@RequestMapping("/api/prescriptions")
+public class PrescriptionMedicationRestController {
+    private final PrescriptionQueryService prescriptionQueryService;
+    public PrescriptionMedicationRestController(PrescriptionQueryService pqs){ this.prescriptionQueryService = pqs; }
+
+    @GetMapping("/medications")
+    public PagedModel<PrescriptionMedication> medications(@RequestParam(value = "drug", required = false) String drug,
+                                                    @RequestParam(value = "patientId", required = false) Long patientId,
+                                                    @RequestParam(value = "doctorId", required = false) Long doctorId,
+                                                    @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                    @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                    @RequestParam(value = "page", defaultValue = "0") int page,
+                                                    @RequestParam(value = "size", defaultValue = "50") int size){
+        try {
+            return new PagedModel<>(prescriptionQueryService.medications(drug, patientId, doctorId, from, to, page, size));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @GetMapping("/medications/patients")
+    public PagedModel<Long> patientsOnDrug(@RequestParam("drug") String drug,
+                                     @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                     @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                     @RequestParam(value = "page", defaultValue = "0") int page,
+                                     @RequestParam(value = "size", defaultValue = "50") int size){
+        try {
+            return new PagedModel<>(prescriptionQueryService.patientsOnDrug(drug, from, to, page, size));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.project.controller;
+
+import com.example.project.service.RevenueReport;
+import com.example.project.service.RevenueReportService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+
+/**
+ * Revenue between {@code from} and {@code to} (inclusive, ISO dates), grouped
+ * by {@code day} (default) or {@code month}. Served from daily rollups.
+ */
+@RestController
+@RequestMapping("/api/reports")
+public class RevenueReportRestController {
+    private final RevenueReportService revenueReportService;
+    public RevenueReportRestController(RevenueReportService rrs){ this.revenueReportService = rrs; }
+
+    @GetMapping("/revenue")
+    public RevenueReport revenue(@RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                 @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                 @RequestParam(value = "groupBy", required = false) String groupBy){
+        try {
+            return revenueReportService.report(from, to, groupBy);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
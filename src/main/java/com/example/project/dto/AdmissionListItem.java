@@ -0,0 +1,16 @@
+package com.example.project.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only admission row: the columns an admissions listing shows, fetched
+ * in one statement without loading Patient or Doctor entities.
+ */
+public record AdmissionListItem(Long id,
+                                String status,
+                                LocalDateTime admittedAt,
+                                Long patientId,
+                                String patientName,
+                                Long doctorId,
+                                String doctorName) {
+}
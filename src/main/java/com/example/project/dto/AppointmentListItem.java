@@ -0,0 +1,27 @@
+package com.example.project.dto;
+
+import com.example.project.model.Appointment;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat appointment row for the JSON listing; carries the patient's id and
+ * name rather than the Patient entity and its association graph.
+ */
+public record AppointmentListItem(Long id,
+                                  LocalDateTime appointmentDateTime,
+                                  String status,
+                                  String purpose,
+                                  String notes,
+                                  Long patientId,
+                                  String patientName) {
+
+    /** The patient must already be loaded (the window queries fetch it). */
+    public static AppointmentListItem of(Appointment appointment) {
+        var patient = appointment.getPatient();
+        return new AppointmentListItem(appointment.getId(), appointment.getAppointmentDateTime(),
+                appointment.getStatus(), appointment.getPurpose(), appointment.getNotes(),
+                patient == null ? null : patient.getId(),
+                patient == null ? null : patient.getFirstName() + " " + patient.getLastName());
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.project.dto;
+
+/**
+ * Department id and name for dropdowns.
+ */
+public class DepartmentOption {
+    private final Long id;
+    private final String name;
+
+    public DepartmentOption(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public Long getId() { return id; }
+    public String getName() { return name; }
+}
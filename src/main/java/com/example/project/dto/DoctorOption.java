@@ -0,0 +1,28 @@
+package com.example.project.dto;
+
+/**
+ * Doctor id, display name and department for dropdowns.
+ */
+public class DoctorOption {
+    private final Long id;
+    private final String firstName;
+    private final String lastName;
+    private final String specialization;
+    private final DepartmentOption department;
+
+    public DoctorOption(Long id, String firstName, String lastName, String specialization,
+                        Long departmentId, String departmentName) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.specialization = specialization;
+        this.department = departmentId == null ? null : new DepartmentOption(departmentId, departmentName);
+    }
+
+    public Long getId() { return id; }
+    public String getFirstName() { return firstName; }
+    public String getLastName() { return lastName; }
+    public String getSpecialization() { return specialization; }
+    public DepartmentOption getDepartment() { return department; }
+    public String getDisplayName() { return ("Dr. " + (firstName == null ? "" : firstName) + " " + (lastName == null ? "" : lastName)).trim(); }
+}
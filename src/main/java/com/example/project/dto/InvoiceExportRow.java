@@ -0,0 +1,16 @@
+package com.example.project.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat invoice row for exports; a projection, so nothing is held in the
+ * persistence context while a large extract streams.
+ */
+public record InvoiceExportRow(Long id,
+                               LocalDateTime issuedAt,
+                               String status,
+                               BigDecimal amount,
+                               Long patientId,
+                               String patientName) {
+}
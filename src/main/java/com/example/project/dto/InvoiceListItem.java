@@ -0,0 +1,29 @@
+package com.example.project.dto;
+
+import com.example.project.model.Invoice;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat invoice row for the JSON listing; carries the patient's id and name
+ * rather than the Patient entity and its association graph.
+ */
+public record InvoiceListItem(Long id,
+                              LocalDateTime issuedAt,
+                              LocalDateTime paidAt,
+                              String status,
+                              BigDecimal amount,
+                              String description,
+                              Long patientId,
+                              String patientName) {
+
+    /** The patient must already be loaded (the listing queries fetch it). */
+    public static InvoiceListItem of(Invoice invoice) {
+        var patient = invoice.getPatient();
+        return new InvoiceListItem(invoice.getId(), invoice.getIssuedAt(), invoice.getPaidAt(),
+                invoice.getStatus(), invoice.getAmount(), invoice.getDescription(),
+                patient == null ? null : patient.getId(),
+                patient == null ? null : patient.getFirstName() + " " + patient.getLastName());
+    }
+}
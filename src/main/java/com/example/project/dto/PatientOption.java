@@ -0,0 +1,21 @@
+package com.example.project.dto;
+
+/**
+ * Patient id and display name for dropdowns and typeahead results.
+ */
+public class PatientOption {
+    private final Long id;
+    private final String firstName;
+    private final String lastName;
+
+    public PatientOption(Long id, String firstName, String lastName) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+    }
+
+    public Long getId() { return id; }
+    public String getFirstName() { return firstName; }
+    public String getLastName() { return lastName; }
+    public String getDisplayName() { return ((firstName == null ? "" : firstName) + " " + (lastName == null ? "" : lastName)).trim(); }
+}
@@ -0,0 +1,12 @@
+package com.example.project.dto;
+
+/**
+ * One ranked patient search result, answered from the search index without a database read.
+ */
+public record PatientSearchHit(Long id,
+                               String firstName,
+                               String lastName,
+                               String email,
+                               String phone,
+                               float score) {
+}
@@ -0,0 +1,16 @@
+package com.example.project.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One event on a patient's timeline. Flat values only, so cached timelines
+ * hold no entities.
+ *
+ * @param type HISTORY, APPOINTMENT, PRESCRIPTION or INVOICE
+ */
+public record TimelineEntry(String type,
+                            Long id,
+                            LocalDateTime at,
+                            String title,
+                            String detail) {
+}
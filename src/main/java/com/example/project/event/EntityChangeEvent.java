@@ -0,0 +1,29 @@
+package com.example.project.event;
+
+import java.util.Map;
+
+/**
+ * Published for every entity insert, update and delete flushed through
+ * Hibernate. Listeners that care about committed data should use
+ * {@code @TransactionalEventListener} so they only see changes that commit.
+ *
+ * @param previousState property values before an update or delete, keyed by
+ *                      property name; empty for inserts or when Hibernate had
+ *                      no loaded snapshot
+ */
+public record EntityChangeEvent(Kind kind, Object entity, Map<String, Object> previousState) {
+
+    public enum Kind { INSERT, UPDATE, DELETE }
+
+    public boolean concerns(Class<?> type) {
+        return type.isInstance(entity);
+    }
+
+    public Object previous(String property) {
+        return previousState.get(property);
+    }
+
+    public boolean hasPreviousState() {
+        return !previousState.isEmpty();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.project.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.UniqueConstraint;
+
+import java.time.LocalDateTime;
+
+/**
+ * A doctor's booked slot. The unique (doctor, slot start) constraint is the
+ * final guard against double-booking across threads and instances.
+ */
+@Entity
+@Table(name = "appointment_slots",
+        uniqueConstraints = @UniqueConstraint(name = "uk_slot_doctor_start", columnNames = {"doctor_id", "slot_start"}),
+        indexes = @Index(name = "idx_slot_start", columnList = "slot_start"))
+public class AppointmentSlot {
+
+    // Pooled table generator rather than IDENTITY so inserts can be JDBC-batched
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "appointment_slot_id")
+    @TableGenerator(name = "appointment_slot_id", table = "id_generators", pkColumnName = "name",
+            valueColumnName = "next_val", pkColumnValue = "appointment_slots", allocationSize = 100)
+    private Long id;
+
+    @Column(name = "doctor_id", nullable = false)
+    private Long doctorId;
+
+    @Column(name = "slot_start", nullable = false)
+    private LocalDateTime slotStart;
+
+    @Column(name = "appointment_id", nullable = false, unique = true)
+    private Long appointmentId;
+
+    public AppointmentSlot() {
+    }
+
+    public AppointmentSlot(Long doctorId, LocalDateTime slotStart, Long appointmentId) {
+        this.doctorId = doctorId;
+        this.slotStart = slotStart;
+        this.appointmentId = appointmentId;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getDoctorId() { return doctorId; }
+    public void setDoctorId(Long doctorId) { this.doctorId = doctorId; }
+
+    public LocalDateTime getSlotStart() { return slotStart; }
+    public void setSlotStart(LocalDateTime slotStart) { this.slotStart = slotStart; }
+
+    public Long getAppointmentId() { return appointmentId; }
+    public void setAppointmentId(Long appointmentId) { this.appointmentId = appointmentId; }
+}
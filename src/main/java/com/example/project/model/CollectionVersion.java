@@ -0,0 +1,35 @@
+package com.example.project.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Shared change counter for one collection, so every instance derives the
+ * same HTTP validators. Maintained by {@code CollectionVersions}.
+ */
+@Entity
+@Table(name = "collection_versions")
+public class CollectionVersion {
+
+    @Id
+    @Column(length = 32)
+    private String collection;
+
+    @Column(nullable = false)
+    private long version;
+
+    /** Epoch millis, truncated to seconds (the resolution of Last-Modified). */
+    @Column(name = "last_modified", nullable = false)
+    private long lastModified;
+
+    public String getCollection() { return collection; }
+    public void setCollection(String collection) { this.collection = collection; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    public long getLastModified() { return lastModified; }
+    public void setLastModified(long lastModified) { this.lastModified = lastModified; }
+}
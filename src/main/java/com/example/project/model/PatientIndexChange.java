@@ -0,0 +1,52 @@
+package com.example.project.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+
+/**
+ * A committed patient insert, update or delete, recorded so every instance's
+ * search index can pick up writes made through the others. Maintained by
+ * {@code PatientSearchService}; rows past the retention period are pruned.
+ */
+@Entity
+@Table(name = "patient_index_changes",
+        indexes = @Index(name = "idx_patient_index_changes_at", columnList = "changed_at"))
+public class PatientIndexChange {
+
+    // Pooled table generator rather than IDENTITY so inserts can be JDBC-batched
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "patient_index_change_id")
+    @TableGenerator(name = "patient_index_change_id", table = "id_generators", pkColumnName = "name",
+            valueColumnName = "next_val", pkColumnValue = "patient_index_changes", allocationSize = 100)
+    private Long id;
+
+    @Column(name = "patient_id", nullable = false)
+    private Long patientId;
+
+    /** Epoch millis of the commit, as seen by the writing instance. */
+    @Column(name = "changed_at", nullable = false)
+    private long changedAt;
+
+    public PatientIndexChange() {
+    }
+
+    public PatientIndexChange(Long patientId, long changedAt) {
+        this.patientId = patientId;
+        this.changedAt = changedAt;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getPatientId() { return patientId; }
+    public void setPatientId(Long patientId) { this.patientId = patientId; }
+
+    public long getChangedAt() { return changedAt; }
+    public void setChangedAt(long changedAt) { this.changedAt = changedAt; }
+}
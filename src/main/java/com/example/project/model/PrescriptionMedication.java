@@ -0,0 +1,93 @@
+package com.example.project.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+
+import java.time.LocalDateTime;
+
+/**
+ * One medication line parsed out of {@code Prescription.medications}. Patient,
+ * doctor and issue date are copied from the prescription so drug, patient and
+ * doctor lookups are answered from this table's own indexes without a join.
+ */
+@Entity
+@Table(name = "prescription_medications", indexes = {
+        @Index(name = "idx_rxmed_drug_issued", columnList = "drug, issued_at"),
+        @Index(name = "idx_rxmed_patient_issued", columnList = "patient_id, issued_at"),
+        @Index(name = "idx_rxmed_doctor_issued", columnList = "doctor_id, issued_at"),
+        @Index(name = "idx_rxmed_doctor_drug_issued", columnList = "doctor_id, drug, issued_at"),
+        @Index(name = "idx_rxmed_prescription", columnList = "prescription_id")
+})
+public class PrescriptionMedication {
+
+    // Pooled table generator rather than IDENTITY so inserts can be JDBC-batched
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "prescription_medication_id")
+    @TableGenerator(name = "prescription_medication_id", table = "id_generators", pkColumnName = "name",
+            valueColumnName = "next_val", pkColumnValue = "prescription_medications", allocationSize = 100)
+    private Long id;
+
+    @Column(name = "prescription_id", nullable = false)
+    private Long prescriptionId;
+
+    @Column(name = "patient_id")
+    private Long patientId;
+
+    @Column(name = "doctor_id")
+    private Long doctorId;
+
+    @Column(name = "issued_at")
+    private LocalDateTime issuedAt;
+
+    @Column(nullable = false)
+    private int position;
+
+    /** Normalised drug name: lower case, single spaces. */
+    @Column(nullable = false, length = 120)
+    private String drug;
+
+    @Column(length = 64)
+    private String dose;
+
+    @Column(length = 255)
+    private String instructions;
+
+    @Column(name = "line_text", length = 500)
+    private String text;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getPrescriptionId() { return prescriptionId; }
+    public void setPrescriptionId(Long prescriptionId) { this.prescriptionId = prescriptionId; }
+
+    public Long getPatientId() { return patientId; }
+    public void setPatientId(Long patientId) { this.patientId = patientId; }
+
+    public Long getDoctorId() { return doctorId; }
+    public void setDoctorId(Long doctorId) { this.doctorId = doctorId; }
+
+    public LocalDateTime getIssuedAt() { return issuedAt; }
+    public void setIssuedAt(LocalDateTime issuedAt) { this.issuedAt = issuedAt; }
+
+    public int getPosition() { return position; }
+    public void setPosition(int position) { this.position = position; }
+
+    public String getDrug() { return drug; }
+    public void setDrug(String drug) { this.drug = drug; }
+
+    public String getDose() { return dose; }
+    public void setDose(String dose) { this.dose = dose; }
+
+    public String getInstructions() { return instructions; }
+    public void setInstructions(String instructions) { this.instructions = instructions; }
+
+    public String getText() { return text; }
+    public void setText(String text) { this.text = text; }
+}
@@ -0,0 +1,87 @@
+package com.example.project.repository;
+
+import com.example.project.dto.AdmissionListItem;
+import com.example.project.model.Admission;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Read-only query paths for admissions. Every filter is optional; a null
+ * parameter drops its predicate so the optimizer can pick the matching index.
+ */
+public interface AdmissionQueryRepository extends Repository<Admission, Long> {
+
+    String FILTERS =
+            " where (:status is null or a.status = :status)" +
+            " and (:from is null or a.admittedAt >= :from)" +
+            " and (:to is null or a.admittedAt < :to)" +
+            " and (:patientId is null or a.patient.id = :patientId)" +
+            " and (:doctorId is null or a.doctor.id = :doctorId)";
+
+    @EntityGraph(attributePaths = {"patient", "doctor"})
+    @Query(value = "select a from Admission a" + FILTERS,
+           countQuery = "select count(a) from Admission a" + FILTERS)
+    Page<Admission> search(@Param("status") String status,
+                           @Param("from") LocalDateTime from,
+                           @Param("to") LocalDateTime to,
+                           @Param("patientId") Long patientId,
+                           @Param("doctorId") Long doctorId,
+                           Pageable pageable);
+
+    @EntityGraph(attributePaths = {"patient", "doctor"})
+    @Query("select a from Admission a order by a.admittedAt desc, a.id desc")
+    List<Admission> findRecent(Limit limit);
+
+    @Query(value = "select new com.example.project.dto.AdmissionListItem(a.id, a.status, a.admittedAt," +
+            " p.id, concat(coalesce(p.firstName, ''), ' ', coalesce(p.lastName, ''))," +
+            " d.id, concat(coalesce(d.firstName, ''), ' ', coalesce(d.lastName, '')))" +
+            " from Admission a left join a.patient p left join a.doctor d" + FILTERS,
+           countQuery = "select count(a) from Admission a" + FILTERS)
+    Page<AdmissionListItem> searchRows(@Param("status") String status,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to,
+                                       @Param("patientId") Long patientId,
+                                       @Param("doctorId") Long doctorId,
+                                       Pageable pageable);
+
+    /** Forward-only export stream; see {@link InvoiceQueryRepository#streamForExport}. */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select new com.example.project.dto.AdmissionListItem(a.id, a.status, a.admittedAt," +
+            " p.id, concat(coalesce(p.firstName, ''), ' ', coalesce(p.lastName, ''))," +
+            " d.id, concat(coalesce(d.firstName, ''), ' ', coalesce(d.lastName, '')))" +
+            " from Admission a left join a.patient p left join a.doctor d" + FILTERS + " order by a.id")
+    Stream<AdmissionListItem> streamForExport(@Param("status") String status,
+                                              @Param("from") LocalDateTime from,
+                                              @Param("to") LocalDateTime to,
+                                              @Param("patientId") Long patientId,
+                                              @Param("doctorId") Long doctorId);
+
+    /**
+     * The whole filtered list, newest first, for streamed list rendering, read
+     * in fetches of 1000 rows (on MySQL through a server-side cursor, see
+     * {@code HibernateConfig}). Patient and doctor are fetched in the same row
+     * so rendering never lazy-loads.
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select a from Admission a left join fetch a.patient left join fetch a.doctor" + FILTERS +
+            " order by a.admittedAt desc, a.id desc")
+    Stream<Admission> streamForList(@Param("status") String status,
+                                    @Param("from") LocalDateTime from,
+                                    @Param("to") LocalDateTime to,
+                                    @Param("patientId") Long patientId,
+                                    @Param("doctorId") Long doctorId);
+}
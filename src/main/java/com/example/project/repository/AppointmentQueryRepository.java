@@ -0,0 +1,58 @@
+package com.example.project.repository;
+
+import com.example.project.model.Appointment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Bounded, time-windowed appointment queries. All of them range-scan the
+ * appointment_date_time index; InnoDB appends the primary key to secondary
+ * indexes, so (appointmentDateTime, id) ordering and seeking need no sort.
+ */
+public interface AppointmentQueryRepository extends Repository<Appointment, Long> {
+
+    @EntityGraph(attributePaths = "patient")
+    @Query("select a from Appointment a where a.appointmentDateTime >= :start and a.appointmentDateTime < :end" +
+            " order by a.appointmentDateTime, a.id")
+    List<Appointment> findBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end, Limit limit);
+
+
+    String WINDOW = " where a.appointmentDateTime >= :start and a.appointmentDateTime < :end";
+
+    @EntityGraph(attributePaths = "patient")
+    @Query(value = "select a from Appointment a" + WINDOW + " order by a.appointmentDateTime, a.id",
+           countQuery = "select count(a) from Appointment a" + WINDOW)
+    Page<Appointment> findWindow(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end, Pageable pageable);
+
+    /** Keyset continuation of {@link #findBetween}: rows strictly after (afterAt, afterId). */
+    @EntityGraph(attributePaths = "patient")
+    @Query("select a from Appointment a" + WINDOW +
+            " and (a.appointmentDateTime > :afterAt or (a.appointmentDateTime = :afterAt and a.id > :afterId))" +
+            " order by a.appointmentDateTime, a.id")
+    List<Appointment> findWindowAfter(@Param("start") LocalDateTime start,
+                                      @Param("end") LocalDateTime end,
+                                      @Param("afterAt") LocalDateTime afterAt,
+                                      @Param("afterId") Long afterId,
+                                      Limit limit);
+
+    /**
+     * The whole window, patient fetched, for streamed list rendering, read in
+     * fetches of 1000 rows (on MySQL through a server-side cursor, see {@code HibernateConfig}).
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select a from Appointment a left join fetch a.patient" + WINDOW + " order by a.appointmentDateTime, a.id")
+    Stream<Appointment> streamWindow(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+}
@@ -0,0 +1,34 @@
+package com.example.project.repository;
+
+import com.example.project.model.AppointmentSlot;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface AppointmentSlotRepository extends JpaRepository<AppointmentSlot, Long> {
+
+    Optional<AppointmentSlot> findByAppointmentId(Long appointmentId);
+
+    @Modifying
+    @Query("delete from AppointmentSlot s where s.appointmentId = :appointmentId")
+    int deleteByAppointmentId(@Param("appointmentId") Long appointmentId);
+
+    /**
+     * Committed slots only: no auto-flush, so a bulk import's pending inserts
+     * stay batched (its unflushed rows are claimed in memory).
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    boolean existsByDoctorIdAndSlotStart(Long doctorId, LocalDateTime slotStart);
+
+    /** (doctorId, slotStart) pairs from {@code from} on, to load the in-memory index. */
+    @Query("select s.doctorId, s.slotStart from AppointmentSlot s where s.slotStart >= :from")
+    List<Object[]> findBookedFrom(@Param("from") LocalDateTime from);
+}
@@ -0,0 +1,42 @@
+package com.example.project.repository;
+
+import com.example.project.model.BackfillCheckpoint;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface BackfillCheckpointRepository extends Repository<BackfillCheckpoint, String> {
+
+    Optional<BackfillCheckpoint> findById(String name);
+
+    /** Records progress, creating the checkpoint if needed (one statement, no read). */
+    @Modifying
+    @Query(value = "insert into backfill_checkpoints (name, last_id, completed) values (:name, :lastId, :completed)" +
+            " on duplicate key update last_id = values(last_id), completed = values(completed)",
+           nativeQuery = true)
+    int record(@Param("name") String name, @Param("lastId") long lastId, @Param("completed") boolean completed);
+
+    /** Creates the row if it does not exist yet, leaving an existing one as it is. */
+    @Modifying
+    @Query(value = "insert into backfill_checkpoints (name, last_id, completed) values (:name, 0, false)" +
+            " on duplicate key update name = name",
+           nativeQuery = true)
+    int createIfMissing(@Param("name") String name);
+
+    /**
+     * Locks the row until the current transaction ends ({@code for update nowait});
+     * fails at once with a {@code PessimisticLockingFailureException} if another
+     * transaction holds it.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "0"))
+    @Query("select c from BackfillCheckpoint c where c.name = :name")
+    Optional<BackfillCheckpoint> lockNowait(@Param("name") String name);
+}
@@ -0,0 +1,30 @@
+package com.example.project.repository;
+
+import com.example.project.model.CollectionVersion;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CollectionVersionRepository extends Repository<CollectionVersion, String> {
+
+    /** Increments a collection's version, creating its row if needed (one statement, no read). */
+    @Modifying
+    @Query(value = "insert into collection_versions (collection, version, last_modified) values (:collection, 1, :now)" +
+            " on duplicate key update version = version + 1, last_modified = greatest(last_modified, values(last_modified))",
+           nativeQuery = true)
+    int bump(@Param("collection") String collection, @Param("now") long now);
+
+    /** Creates a collection's row at version 0 unless it already exists. */
+    @Modifying
+    @Query(value = "insert into collection_versions (collection, version, last_modified) values (:collection, 0, :now)" +
+            " on duplicate key update version = version",
+           nativeQuery = true)
+    int register(@Param("collection") String collection, @Param("now") long now);
+
+    @Query("select v from CollectionVersion v where v.collection in :collections")
+    List<CollectionVersion> findAll(@Param("collections") Collection<String> collections);
+}
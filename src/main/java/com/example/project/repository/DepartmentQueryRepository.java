@@ -0,0 +1,24 @@
+package com.example.project.repository;
+
+import com.example.project.dto.DepartmentOption;
+import com.example.project.model.Department;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+
+import java.util.List;
+
+/**
+ * Read-only department queries.
+ */
+public interface DepartmentQueryRepository extends Repository<Department, Long> {
+
+    @Query("select new com.example.project.dto.DepartmentOption(d.id, d.name) from Department d order by d.name, d.id")
+    List<DepartmentOption> findOptions();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select d from Department d order by d.id")
+    List<Department> findAllOrdered();
+}
@@ -0,0 +1,29 @@
+package com.example.project.repository;
+
+import com.example.project.dto.DoctorOption;
+import com.example.project.model.Doctor;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+
+import java.util.List;
+
+/**
+ * Read-only doctor queries.
+ */
+public interface DoctorQueryRepository extends Repository<Doctor, Long> {
+
+    @Query("select new com.example.project.dto.DoctorOption(d.id, d.firstName, d.lastName, d.specialization," +
+            " dep.id, dep.name)" +
+            " from Doctor d left join d.department dep order by d.lastName, d.firstName, d.id")
+    List<DoctorOption> findOptions();
+
+    /** Doctors list page; served from the query cache + Doctor/Department regions. */
+    @EntityGraph(attributePaths = "department")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select d from Doctor d order by d.id")
+    List<Doctor> findAllWithDepartment();
+}
@@ -0,0 +1,90 @@
+package com.example.project.repository;
+
+import com.example.project.dto.InvoiceExportRow;
+import com.example.project.model.Invoice;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Read-only invoice queries. Listing uses keyset pagination on (issuedAt, id)
+ * descending, so page N costs the same as page one. Invoices without an
+ * issuedAt sort after all dated ones and are paged by id alone.
+ */
+public interface InvoiceQueryRepository extends Repository<Invoice, Long> {
+
+    String FILTERS =
+            " (:status is null or i.status = :status)" +
+            " and (:from is null or i.issuedAt >= :from)" +
+            " and (:to is null or i.issuedAt < :to)" +
+            " and (:patientId is null or i.patient.id = :patientId)";
+
+    @EntityGraph(attributePaths = "patient")
+    @Query("select i from Invoice i where" + FILTERS + " order by i.issuedAt desc, i.id desc")
+    List<Invoice> findFirstPage(@Param("status") String status,
+                                @Param("from") LocalDateTime from,
+                                @Param("to") LocalDateTime to,
+                                @Param("patientId") Long patientId,
+                                Limit limit);
+
+    @EntityGraph(attributePaths = "patient")
+    @Query("select i from Invoice i where" + FILTERS +
+            " and (i.issuedAt < :afterAt or (i.issuedAt = :afterAt and i.id < :afterId) or i.issuedAt is null)" +
+            " order by i.issuedAt desc, i.id desc")
+    List<Invoice> findPageAfter(@Param("status") String status,
+                                @Param("from") LocalDateTime from,
+                                @Param("to") LocalDateTime to,
+                                @Param("patientId") Long patientId,
+                                @Param("afterAt") LocalDateTime afterAt,
+                                @Param("afterId") Long afterId,
+                                Limit limit);
+
+    /** Continues inside the unstamped tail, which {@link #findPageAfter} reaches last. */
+    @EntityGraph(attributePaths = "patient")
+    @Query("select i from Invoice i where" + FILTERS +
+            " and i.issuedAt is null and i.id < :afterId" +
+            " order by i.id desc")
+    List<Invoice> findNullTailAfter(@Param("status") String status,
+                                    @Param("from") LocalDateTime from,
+                                    @Param("to") LocalDateTime to,
+                                    @Param("patientId") Long patientId,
+                                    @Param("afterId") Long afterId,
+                                    Limit limit);
+
+    /**
+     * Forward-only stream for exports, read in fetches of 1000 rows (on MySQL
+     * through a server-side cursor, see {@code HibernateConfig}) instead of
+     * buffering the result set; must be consumed inside a transaction and closed.
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select new com.example.project.dto.InvoiceExportRow(i.id, i.issuedAt, i.status, i.amount," +
+            " p.id, concat(coalesce(p.firstName, ''), ' ', coalesce(p.lastName, '')))" +
+            " from Invoice i left join i.patient p where" + FILTERS + " order by i.id")
+    Stream<InvoiceExportRow> streamForExport(@Param("status") String status,
+                                             @Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to,
+                                             @Param("patientId") Long patientId);
+
+    /**
+     * The whole filtered list in page order, patient fetched, for streamed list
+     * rendering, read in fetches of 1000 rows (on MySQL through a server-side
+     * cursor, see {@code HibernateConfig}).
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select i from Invoice i left join fetch i.patient where" + FILTERS + " order by i.issuedAt desc, i.id desc")
+    Stream<Invoice> streamForList(@Param("status") String status,
+                                  @Param("from") LocalDateTime from,
+                                  @Param("to") LocalDateTime to,
+                                  @Param("patientId") Long patientId);
+}
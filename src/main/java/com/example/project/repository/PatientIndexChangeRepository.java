@@ -0,0 +1,21 @@
+package com.example.project.repository;
+
+import com.example.project.model.PatientIndexChange;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface PatientIndexChangeRepository extends Repository<PatientIndexChange, Long> {
+
+    <S extends PatientIndexChange> List<S> saveAll(Iterable<S> changes);
+
+    @Query("select distinct c.patientId from PatientIndexChange c where c.changedAt >= :since")
+    List<Long> findPatientIdsChangedSince(@Param("since") long since);
+
+    @Modifying
+    @Query("delete from PatientIndexChange c where c.changedAt < :before")
+    int deleteOlderThan(@Param("before") long before);
+}
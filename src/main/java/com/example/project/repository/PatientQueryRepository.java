@@ -0,0 +1,67 @@
+package com.example.project.repository;
+
+import com.example.project.dto.PatientOption;
+import com.example.project.model.Patient;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Bounded read-only patient queries for pages that only need a slice.
+ */
+public interface PatientQueryRepository extends Repository<Patient, Long> {
+
+    @Query("select p from Patient p order by p.id desc")
+    List<Patient> findRecent(Limit limit);
+
+    @Query("select new com.example.project.dto.PatientOption(p.id, p.firstName, p.lastName)" +
+            " from Patient p order by p.lastName, p.firstName, p.id")
+    List<PatientOption> findOptions(Limit limit);
+
+    @Query("select new com.example.project.dto.PatientOption(p.id, p.firstName, p.lastName) from Patient p where p.id = :id")
+    Optional<PatientOption> findOptionById(@Param("id") Long id);
+
+    /**
+     * Prefix match (no leading wildcard), so each predicate is a range on its
+     * name/email index from {@code QueryIndexInitializer}.
+     */
+    @Query("select new com.example.project.dto.PatientOption(p.id, p.firstName, p.lastName) from Patient p" +
+            " where p.lastName like :prefix or p.firstName like :prefix or p.email like :prefix" +
+            " order by p.lastName, p.firstName, p.id")
+    List<PatientOption> findOptionsByPrefix(@Param("prefix") String prefix, Limit limit);
+
+    /** One round trip per import chunk instead of one lookup per row. */
+    @Query("select p from Patient p where p.id in :ids")
+    List<Patient> findByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Every patient as flat rows, streamed in fetches of 1000 rows (on MySQL
+     * through a server-side cursor, see {@code HibernateConfig}), for
+     * (re)building the search index.
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select p.id, p.firstName, p.lastName, p.email, p.phone from Patient p order by p.id")
+    Stream<Object[]> streamForIndex();
+
+    /** Patients added after {@code afterId}, streamed, for catching the search index up on start. */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select p.id, p.firstName, p.lastName, p.email, p.phone from Patient p where p.id > :afterId order by p.id")
+    Stream<Object[]> streamForIndexAfter(@Param("afterId") long afterId);
+
+    /** Search index rows for the given patients; ids that no longer exist are simply absent. */
+    @Query("select p.id, p.firstName, p.lastName, p.email, p.phone from Patient p where p.id in :ids")
+    List<Object[]> findIndexRows(@Param("ids") Collection<Long> ids);
+
+    long count();
+}
@@ -0,0 +1,72 @@
+package com.example.project.repository;
+
+import com.example.project.model.PrescriptionMedication;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Medication line items. Each lookup leads with an indexed column and ranges
+ * over issuedAt, matching one of the table's (column, issued_at) indexes.
+ */
+public interface PrescriptionMedicationRepository extends JpaRepository<PrescriptionMedication, Long> {
+
+    @Modifying
+    @Query("delete from PrescriptionMedication m where m.prescriptionId = :prescriptionId")
+    int deleteByPrescriptionId(@Param("prescriptionId") Long prescriptionId);
+
+    @Modifying
+    @Query("delete from PrescriptionMedication m where m.prescriptionId in :prescriptionIds")
+    int deleteByPrescriptionIdIn(@Param("prescriptionIds") Collection<Long> prescriptionIds);
+
+    @Query(value = "select m from PrescriptionMedication m where m.drug = :drug" +
+                   " and m.issuedAt >= :from and m.issuedAt < :to order by m.issuedAt desc, m.id desc",
+           countQuery = "select count(m) from PrescriptionMedication m where m.drug = :drug" +
+                   " and m.issuedAt >= :from and m.issuedAt < :to")
+    Page<PrescriptionMedication> findByDrug(@Param("drug") String drug, @Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to, Pageable pageable);
+
+    /**
+     * A patient's items, optionally only one drug and/or doctor; a patient has
+     * few rows, so those are filtered off the (patient_id, issued_at) range.
+     */
+    @Query(value = "select m from PrescriptionMedication m where m.patientId = :patientId" +
+                   " and (:drug is null or m.drug = :drug) and (:doctorId is null or m.doctorId = :doctorId)" +
+                   " and m.issuedAt >= :from and m.issuedAt < :to order by m.issuedAt desc, m.id desc",
+           countQuery = "select count(m) from PrescriptionMedication m where m.patientId = :patientId" +
+                   " and (:drug is null or m.drug = :drug) and (:doctorId is null or m.doctorId = :doctorId)" +
+                   " and m.issuedAt >= :from and m.issuedAt < :to")
+    Page<PrescriptionMedication> findByPatient(@Param("patientId") Long patientId, @Param("drug") String drug,
+                                               @Param("doctorId") Long doctorId, @Param("from") LocalDateTime from,
+                                               @Param("to") LocalDateTime to, Pageable pageable);
+
+    @Query(value = "select m from PrescriptionMedication m where m.doctorId = :doctorId" +
+                   " and m.issuedAt >= :from and m.issuedAt < :to order by m.issuedAt desc, m.id desc",
+           countQuery = "select count(m) from PrescriptionMedication m where m.doctorId = :doctorId" +
+                   " and m.issuedAt >= :from and m.issuedAt < :to")
+    Page<PrescriptionMedication> findByDoctor(@Param("doctorId") Long doctorId, @Param("from") LocalDateTime from,
+                                              @Param("to") LocalDateTime to, Pageable pageable);
+
+    /** What a doctor prescribed of one drug; served from the (doctor_id, drug, issued_at) index. */
+    @Query(value = "select m from PrescriptionMedication m where m.doctorId = :doctorId and m.drug = :drug" +
+                   " and m.issuedAt >= :from and m.issuedAt < :to order by m.issuedAt desc, m.id desc",
+           countQuery = "select count(m) from PrescriptionMedication m where m.doctorId = :doctorId and m.drug = :drug" +
+                   " and m.issuedAt >= :from and m.issuedAt < :to")
+    Page<PrescriptionMedication> findByDoctorAndDrug(@Param("doctorId") Long doctorId, @Param("drug") String drug,
+                                                     @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                                     Pageable pageable);
+
+    /** Distinct patients prescribed {@code drug} in the range; served from the (drug, issued_at) index. */
+    @Query(value = "select distinct m.patientId from PrescriptionMedication m where m.drug = :drug" +
+                   " and m.issuedAt >= :from and m.issuedAt < :to and m.patientId is not null order by m.patientId",
+           countQuery = "select count(distinct m.patientId) from PrescriptionMedication m where m.drug = :drug" +
+                   " and m.issuedAt >= :from and m.issuedAt < :to")
+    Page<Long> findPatientIdsOnDrug(@Param("drug") String drug, @Param("from") LocalDateTime from,
+                                    @Param("to") LocalDateTime to, Pageable pageable);
+}
@@ -0,0 +1,26 @@
+package com.example.project.repository;
+
+import com.example.project.model.Prescription;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+
+import java.util.List;
+
+/**
+ * Read-only prescription queries.
+ */
+public interface PrescriptionQueryRepository extends Repository<Prescription, Long> {
+
+    @EntityGraph(attributePaths = {"patient", "doctor"})
+    @Query("select p from Prescription p order by p.dateIssued desc, p.id desc")
+    List<Prescription> findRecent(Limit limit);
+
+    /** Prescriptions list page: patient, doctor and the doctor's department in one statement. */
+    @EntityGraph(attributePaths = {"patient", "doctor", "doctor.department"})
+    @Query(value = "select p from Prescription p", countQuery = "select count(p) from Prescription p")
+    Page<Prescription> findPage(Pageable pageable);
+}
@@ -0,0 +1,35 @@
+package com.example.project.repository;
+
+import com.example.project.model.RevenueRollup;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface RevenueRollupRepository extends Repository<RevenueRollup, Long> {
+
+    /** Adds to a rollup row, creating it if needed (one statement, no read). */
+    @Modifying
+    @Query(value = "insert into revenue_rollups (rollup_day, status, cohort, amount, invoice_count)" +
+            " values (:day, :status, :cohort, :amount, :count)" +
+            " on duplicate key update amount = amount + values(amount), invoice_count = invoice_count + values(invoice_count)",
+           nativeQuery = true)
+    int add(@Param("day") LocalDate day, @Param("status") String status, @Param("cohort") String cohort,
+            @Param("amount") BigDecimal amount, @Param("count") long count);
+
+    @Query("select r from RevenueRollup r where r.day >= :from and r.day <= :to order by r.day")
+    List<RevenueRollup> findBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("select r from RevenueRollup r where r.status in :statuses")
+    List<RevenueRollup> findByStatusIn(@Param("statuses") Collection<String> statuses);
+
+    @Query("select coalesce(sum(r.amount), 0) from RevenueRollup r where r.status = :status")
+    BigDecimal total(@Param("status") String status);
+
+    long count();
+}
@@ -0,0 +1,38 @@
+package com.example.project.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Admission list filter as submitted by the list page. Blank or unparsable
+ * values are treated as "no filter", matching the old in-memory behaviour.
+ */
+public record AdmissionFilter(String status, LocalDate from, LocalDate to, Long patientId, Long doctorId) {
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    public static AdmissionFilter of(String status, String from, String to, Long patientId, Long doctorId) {
+        String s = (status == null || status.isBlank()) ? null : status.trim().toUpperCase();
+        return new AdmissionFilter(s, parseDate(from), parseDate(to), patientId, doctorId);
+    }
+
+    /** Inclusive lower bound on admittedAt, or null. */
+    public LocalDateTime admittedFrom() {
+        return from == null ? null : from.atStartOfDay();
+    }
+
+    /** Exclusive upper bound on admittedAt, or null. */
+    public LocalDateTime admittedBefore() {
+        return to == null ? null : to.plusDays(1).atStartOfDay();
+    }
+
+    static LocalDate parseDate(String value) {
+        if (value == null || value.isBlank()) return null;
+        try {
+            return LocalDate.parse(value.trim(), DATE);
+        } catch (Exception ignored) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.project.service;
+
+import com.example.project.dto.AdmissionListItem;
+import com.example.project.model.Admission;
+import com.example.project.repository.AdmissionQueryRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+@Service
+@Transactional(readOnly = true)
+public class AdmissionQueryService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("admittedAt"), Sort.Order.desc("id"));
+
+    private final AdmissionQueryRepository repository;
+
+    public AdmissionQueryService(AdmissionQueryRepository repository) {
+        this.repository = repository;
+    }
+
+    public Page<Admission> search(AdmissionFilter filter, int page, int size) {
+        return repository.search(filter.status(), filter.admittedFrom(), filter.admittedBefore(),
+                filter.patientId(), filter.doctorId(), pageRequest(page, size));
+    }
+
+    /** Same filters as {@link #search}, as flat rows for read-only views. */
+    public Page<AdmissionListItem> searchRows(AdmissionFilter filter, int page, int size) {
+        return repository.searchRows(filter.status(), filter.admittedFrom(), filter.admittedBefore(),
+                filter.patientId(), filter.doctorId(), pageRequest(page, size));
+    }
+
+    /**
+     * Same filters as {@link #search}, unpaged, as a deferred cursor for
+     * streamed list rendering; must be consumed inside a transaction.
+     */
+    public Supplier<Stream<Admission>> stream(AdmissionFilter filter) {
+        return () -> repository.streamForList(filter.status(), filter.admittedFrom(), filter.admittedBefore(),
+                filter.patientId(), filter.doctorId());
+    }
+
+    static PageRequest pageRequest(int page, int size) {
+        int p = Math.max(page, 0);
+        int s = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        return PageRequest.of(p, s, NEWEST_FIRST);
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.project.service;
+
+import com.example.project.model.Appointment;
+import com.example.project.model.AppointmentSlot;
+import com.example.project.model.Patient;
+import com.example.project.repository.PatientQueryRepository;
+import com.example.project.util.CsvLine;
+import com.example.project.util.DateTimeParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Streams appointments in from CSV or NDJSON. Rows are handled in chunks, each
+ * in its own transaction: patients for the chunk are loaded with one query,
+ * doctor slots are claimed through {@link AppointmentSlotService}, and the
+ * inserts go out as JDBC batches (see {@code HibernateConfig}). A bad row is
+ * reported and skipped; only a database failure fails its whole chunk.
+ */
+@Service
+public class AppointmentImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentImportService.class);
+    private static final Set<String> STATUSES = Set.of("SCHEDULED", "COMPLETED", "CANCELLED");
+
+    private final PatientQueryRepository patientQueryRepository;
+    private final AppointmentSlotService slotService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.import.max-errors:1000}")
+    private int maxErrors;
+
+    public AppointmentImportService(PatientQueryRepository patientQueryRepository,
+                                    AppointmentSlotService slotService,
+                                    PlatformTransactionManager transactionManager,
+                                    ObjectMapper objectMapper) {
+        this.patientQueryRepository = patientQueryRepository;
+        this.slotService = slotService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+    }
+
+    /** One row of input; {@code error} is set when the row could not be parsed. */
+    record Row(int line, Long patientId, Long doctorId, LocalDateTime at,
+               String purpose, String notes, String status, String error) {
+
+        static Row invalid(int line, String error) {
+            return new Row(line, null, null, null, null, null, null, error);
+        }
+    }
+
+    /**
+     * CSV with a header row naming the columns: {@code patientId},
+     * {@code appointmentDateTime}, {@code purpose}, and optionally
+     * {@code doctorId}, {@code notes}, {@code status}.
+     */
+    public ImportReport importCsv(InputStream in) throws IOException {
+        try (BufferedReader reader = reader(in)) {
+            String header = reader.readLine();
+            if (header == null) {
+                return new ImportReport(maxErrors);
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            List<String> names = CsvLine.split(header.startsWith("\uFEFF") ? header.substring(1) : header);
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i).trim(), i);
+            }
+            for (String required : List.of("patientId", "appointmentDateTime", "purpose")) {
+                if (!columns.containsKey(required)) {
+                    throw new IllegalArgumentException("CSV header is missing column " + required);
+                }
+            }
+            return run(reader, 2, line -> {
+                List<String> fields = CsvLine.split(line);
+                return name -> {
+                    Integer i = columns.get(name);
+                    return i == null || i >= fields.size() ? null : fields.get(i);
+                };
+            });
+        }
+    }
+
+    /** One JSON object per line with the same field names as the CSV columns. */
+    public ImportReport importNdjson(InputStream in) throws IOException {
+        try (BufferedReader reader = reader(in)) {
+            return run(reader, 1, line -> {
+                JsonNode node;
+                try {
+                    node = objectMapper.readTree(line);
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("Invalid JSON");
+                }
+                return name -> {
+                    JsonNode value = node.get(name);
+                    return value == null || value.isNull() ? null : value.asText();
+                };
+            });
+        }
+    }
+
+    private static BufferedReader reader(InputStream in) {
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    private ImportReport run(BufferedReader reader, int firstLine,
+                             Function<String, Function<String, String>> fields) throws IOException {
+        ImportReport report = new ImportReport(maxErrors);
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        int lineNo = firstLine - 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank()) {
+                continue;
+            }
+            report.rowRead();
+            Row row;
+            try {
+                row = toRow(lineNo, fields.apply(line));
+            } catch (RuntimeException e) {
+                row = Row.invalid(lineNo, e.getMessage());
+            }
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, report);
+        }
+        log.info("Appointment import: {} rows, {} imported, {} failed",
+                report.getTotal(), report.getImported(), report.getFailed());
+        return report;
+    }
+
+    private static Row toRow(int line, Function<String, String> field) {
+        String patientId = trimToNull(field.apply("patientId"));
+        String at = trimToNull(field.apply("appointmentDateTime"));
+        String purpose = trimToNull(field.apply("purpose"));
+        if (patientId == null || at == null || purpose == null) {
+            return Row.invalid(line, "patientId, appointmentDateTime and purpose are required");
+        }
+        String doctorId = trimToNull(field.apply("doctorId"));
+        String status = trimToNull(field.apply("status"));
+        try {
+            return new Row(line, Long.valueOf(patientId), doctorId == null ? null : Long.valueOf(doctorId),
+                    DateTimeParser.parse(at), purpose, trimToNull(field.apply("notes")),
+                    status == null ? "SCHEDULED" : status.toUpperCase(Locale.ROOT), null);
+        } catch (NumberFormatException e) {
+            return Row.invalid(line, "patientId and doctorId must be numbers");
+        } catch (RuntimeException e) {
+            return Row.invalid(line, "Unrecognised appointmentDateTime: " + at);
+        }
+    }
+
+    private static String trimToNull(String s) {
+        if (s == null) return null;
+        String t = s.trim();
+        return t.isEmpty() ? null : t;
+    }
+
+    private void importChunk(List<Row> chunk, ImportReport report) {
+        List<Row> accepted = new ArrayList<>(chunk.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Set<Long> ids = new HashSet<>();
+                chunk.forEach(row -> { if (row.error() == null) ids.add(row.patientId()); });
+                Map<Long, Patient> patients = new HashMap<>();
+                if (!ids.isEmpty()) {
+                    patientQueryRepository.findByIdIn(ids).forEach(p -> patients.put(p.getId(), p));
+                }
+
+                LocalDateTime now = LocalDateTime.now();
+                for (Row row : chunk) {
+                    String error = validate(row, patients, now);
+                    if (error != null) {
+                        report.failed(row.line(), error);
+                        continue;
+                    }
+                    LocalDateTime slotStart = null;
+                    if (row.doctorId() != null && "SCHEDULED".equals(row.status())) {
+                        try {
+                            slotStart = slotService.reserve(row.doctorId(), row.at());
+                        } catch (SlotUnavailableException | IllegalArgumentException e) {
+                            report.failed(row.line(), e.getMessage());
+                            continue;
+                        }
+                    }
+                    Appointment appointment = new Appointment();
+                    appointment.setPatient(patients.get(row.patientId()));
+                    appointment.setAppointmentDateTime(row.at());
+                    appointment.setPurpose(row.purpose());
+                    appointment.setNotes(row.notes());
+                    appointment.setStatus(row.status());
+                    entityManager.persist(appointment);
+                    if (slotStart != null) {
+                        entityManager.persist(new AppointmentSlot(row.doctorId(), slotStart, appointment.getId()));
+                    }
+                    accepted.add(row);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+            report.imported(accepted.size());
+        } catch (RuntimeException e) {
+            // Usually a slot taken by another instance between claim and flush
+            log.warn("Appointment import chunk at line {} rolled back", chunk.get(0).line(), e);
+            String message = "Chunk rolled back: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            accepted.forEach(row -> report.failed(row.line(), message));
+        }
+    }
+
+    private static String validate(Row row, Map<Long, Patient> patients, LocalDateTime now) {
+        if (row.error() != null) {
+            return row.error();
+        }
+        if (!patients.containsKey(row.patientId())) {
+            return "Patient " + row.patientId() + " not found";
+        }
+        if (!STATUSES.contains(row.status())) {
+            return "Unknown status " + row.status();
+        }
+        if ("SCHEDULED".equals(row.status()) && row.at().isBefore(now)) {
+            return "Scheduled appointment date cannot be in the past";
+        }
+        return null;
+    }
+}
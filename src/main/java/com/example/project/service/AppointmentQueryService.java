@@ -0,0 +1,102 @@
+package com.example.project.service;
+
+import com.example.project.model.Appointment;
+import com.example.project.repository.AppointmentQueryRepository;
+import com.example.project.util.KeysetCursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Upcoming appointments within a bounded window (default the next
+ * {@code app.appointments.upcoming-days} days), by page or by cursor, so the
+ * cost does not grow with how far ahead the schedule is booked.
+ */
+@Service
+@Transactional(readOnly = true)
+public class AppointmentQueryService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int MAX_WINDOW_DAYS = 90;
+
+    private final AppointmentQueryRepository repository;
+
+    @Value("${app.appointments.upcoming-days:7}")
+    private int defaultWindowDays;
+
+    public AppointmentQueryService(AppointmentQueryRepository repository) {
+        this.repository = repository;
+    }
+
+    public int windowDays(Integer days) {
+        return days == null || days <= 0 ? defaultWindowDays : Math.min(days, MAX_WINDOW_DAYS);
+    }
+
+    /**
+     * Today's appointments with their patients fetched, so the list renders
+     * after the loading transaction has closed (e.g. from a parallel section).
+     */
+    public List<Appointment> today() {
+        LocalDateTime start = LocalDate.now().atStartOfDay();
+        return repository.findBetween(start, start.plusDays(1), Limit.unlimited());
+    }
+
+    public Page<Appointment> upcoming(Integer days, int page, int size) {
+        LocalDateTime now = LocalDateTime.now();
+        return repository.findWindow(now, now.plusDays(windowDays(days)),
+                PageRequest.of(Math.max(page, 0), pageSize(size)));
+    }
+
+    /**
+     * The whole upcoming window as a deferred cursor. The stream is opened by
+     * whoever calls the supplier and must be consumed inside a transaction.
+     */
+    public Supplier<Stream<Appointment>> upcomingStream(Integer days) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime end = now.plusDays(windowDays(days));
+        return () -> repository.streamWindow(now, end);
+    }
+
+    /**
+     * Returns the upcoming appointments after {@code cursor} (or from now when it is blank).
+     *
+     * @throws IllegalArgumentException if the cursor token is malformed
+     */
+    public CursorPage<Appointment> upcomingSeek(Integer days, String cursor, int size) {
+        int pageSize = pageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        if (after != null && after.inNullTail()) {
+            // appointments always have a time; only invoice cursors have a null tail
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime end = now.plusDays(windowDays(days));
+        // one extra row tells us whether another page exists
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<Appointment> rows = after == null
+                ? repository.findBetween(now, end, limit)
+                : repository.findWindowAfter(now, end, after.at(), after.id(), limit);
+
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<Appointment> items = rows.subList(0, pageSize);
+        Appointment last = items.get(pageSize - 1);
+        return new CursorPage<>(items, new KeysetCursor(last.getAppointmentDateTime(), last.getId()).encode());
+    }
+
+    private static int pageSize(int size) {
+        return size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+    }
+}
@@ -0,0 +1,315 @@
+package com.example.project.service;
+
+import com.example.project.event.EntityChangeEvent;
+import com.example.project.model.Appointment;
+import com.example.project.model.AppointmentSlot;
+import com.example.project.model.Doctor;
+import com.example.project.repository.AppointmentSlotRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Doctor appointment slots of fixed length. Each doctor has a lock-free sorted
+ * set of booked slot starts, so "is this free" and "next N free" are answered
+ * in memory. A booking claims the slot in the set first (atomic add), then
+ * writes an {@link AppointmentSlot} row whose unique (doctor, start)
+ * constraint settles races with other instances; claims are released if the
+ * transaction does not commit.
+ * <p>
+ * The sets follow committed slot writes and appointment deletes or
+ * cancellations from any write path on this instance, and are rebuilt from
+ * the rows at startup and every {@code app.appointments.slot-index-refresh-ms}
+ * to pick up other instances' writes. Until then a slot booked elsewhere shows
+ * as free (booking it gets a 409 from the constraint) and one freed elsewhere
+ * stays taken.
+ */
+@Service
+public class AppointmentSlotService {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentSlotService.class);
+    private static final int MAX_SEARCH_DAYS = 60;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final AppointmentService appointmentService;
+    private final AppointmentSlotRepository slotRepository;
+    private final TransactionTemplate requiresNew;
+    private final ConcurrentHashMap<Long, ConcurrentSkipListSet<LocalDateTime>> booked = new ConcurrentHashMap<>();
+
+    @Value("${app.appointments.slot-minutes:30}")
+    private int slotMinutes;
+
+    @Value("${app.appointments.day-start:08:00}")
+    private LocalTime dayStart;
+
+    @Value("${app.appointments.day-end:17:00}")
+    private LocalTime dayEnd;
+
+    public AppointmentSlotService(AppointmentService appointmentService, AppointmentSlotRepository slotRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.appointmentService = appointmentService;
+        this.slotRepository = slotRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Replaces each doctor's set with the committed slots from today on, which
+     * also drops past days. A claim in flight while its doctor's set is
+     * replaced is no longer held in memory; the constraint still guards it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.appointments.slot-index-refresh-ms:60000}",
+               fixedDelayString = "${app.appointments.slot-index-refresh-ms:60000}")
+    public void loadIndex() {
+        Map<Long, ConcurrentSkipListSet<LocalDateTime>> fresh = new HashMap<>();
+        requiresNew.executeWithoutResult(status -> {
+            for (Object[] row : slotRepository.findBookedFrom(LocalDate.now().atStartOfDay())) {
+                fresh.computeIfAbsent((Long) row[0], id -> new ConcurrentSkipListSet<>()).add((LocalDateTime) row[1]);
+            }
+        });
+        booked.keySet().retainAll(fresh.keySet());
+        booked.putAll(fresh);
+        log.debug("Appointment slot index loaded for {} doctors", fresh.size());
+    }
+
+    /**
+     * Start of the slot containing {@code time}. Slots are counted from
+     * day-start, the same grid {@link #nextFreeSlots} walks, so any slot length
+     * works with any day-start.
+     */
+    public LocalDateTime slotStart(LocalDateTime time) {
+        int minuteOfDay = time.getHour() * 60 + time.getMinute();
+        int origin = dayStart.getHour() * 60 + dayStart.getMinute();
+        int start = minuteOfDay - Math.floorMod(minuteOfDay - origin, slotMinutes);
+        return time.toLocalDate().atStartOfDay().plusMinutes(start);
+    }
+
+    public boolean isFree(Long doctorId, LocalDateTime time) {
+        ConcurrentSkipListSet<LocalDateTime> set = booked.get(doctorId);
+        return set == null || !set.contains(slotStart(time));
+    }
+
+    /** Up to {@code count} free slot starts within working hours, from {@code from} on. */
+    public List<LocalDateTime> nextFreeSlots(Long doctorId, LocalDateTime from, int count) {
+        Set<LocalDateTime> taken = booked.getOrDefault(doctorId, new ConcurrentSkipListSet<>());
+        List<LocalDateTime> free = new ArrayList<>(count);
+        LocalDateTime t = slotStart(from);
+        if (t.isBefore(from)) t = t.plusMinutes(slotMinutes);
+        LocalDateTime horizon = from.plusDays(MAX_SEARCH_DAYS);
+        while (free.size() < count && t.isBefore(horizon)) {
+            LocalTime time = t.toLocalTime();
+            if (time.isBefore(dayStart)) {
+                t = t.toLocalDate().atTime(dayStart);
+                continue;
+            }
+            if (!time.plusMinutes(slotMinutes).isAfter(dayEnd)) {
+                if (!taken.contains(t)) free.add(t);
+                t = t.plusMinutes(slotMinutes);
+            } else {
+                t = t.toLocalDate().plusDays(1).atTime(dayStart);
+            }
+        }
+        return free;
+    }
+
+    /**
+     * Schedules {@code appointment} with {@code doctorId} in the slot containing its time.
+     *
+     * @throws IllegalArgumentException if the doctor does not exist or the slot is outside working hours
+     * @throws SlotUnavailableException if the slot is already booked
+     */
+    @Transactional
+    public void book(Appointment appointment, Long doctorId) {
+        LocalDateTime start = slotStart(appointment.getAppointmentDateTime());
+        checkBookable(doctorId, start);
+        claim(doctorId, start);
+        try {
+            appointmentService.scheduleAppointment(appointment);
+            slotRepository.saveAndFlush(new AppointmentSlot(doctorId, start, appointment.getId()));
+        } catch (DataIntegrityViolationException e) {
+            throw new SlotUnavailableException("That slot was just booked for this doctor");
+        }
+    }
+
+    /**
+     * Saves a changed appointment, moving its slot if it has one.
+     *
+     * @throws IllegalArgumentException if the new slot is outside working hours
+     * @throws SlotUnavailableException if the new slot is already booked
+     */
+    @Transactional
+    public void reschedule(Appointment appointment) {
+        AppointmentSlot slot = slotRepository.findByAppointmentId(appointment.getId()).orElse(null);
+        LocalDateTime start = slotStart(appointment.getAppointmentDateTime());
+        if (slot != null && !slot.getSlotStart().equals(start)) {
+            checkWorkingHours(start);
+            claim(slot.getDoctorId(), start);
+            releaseAfterCommit(slot.getDoctorId(), slot.getSlotStart());
+            slot.setSlotStart(start);
+            try {
+                slotRepository.saveAndFlush(slot);
+            } catch (DataIntegrityViolationException e) {
+                throw new SlotUnavailableException("That slot was just booked for this doctor");
+            }
+        }
+        appointmentService.updateAppointment(appointment);
+    }
+
+    /**
+     * Claims the slot containing {@code time} for a caller that writes the
+     * {@link AppointmentSlot} row itself (bulk import); released again unless
+     * the surrounding transaction commits. The committed rows are checked too,
+     * without flushing the caller's batch, so a slot booked on another instance
+     * since the last refresh rejects one row rather than the whole batch; it is
+     * then kept in the set. A slot taken by another transaction after the
+     * check still fails the caller's flush on the unique constraint.
+     * <p>
+     * A rejected slot does not mark the caller's transaction rollback-only, so
+     * the caller can report the row and carry on with the rest of its batch.
+     *
+     * @return the slot start to store
+     * @throws IllegalArgumentException if the doctor does not exist or the slot is outside working hours
+     * @throws SlotUnavailableException if the slot is already booked
+     */
+    @Transactional(propagation = Propagation.MANDATORY,
+                   noRollbackFor = {SlotUnavailableException.class, IllegalArgumentException.class})
+    public LocalDateTime reserve(Long doctorId, LocalDateTime time) {
+        LocalDateTime start = slotStart(time);
+        checkBookable(doctorId, start);
+        claim(doctorId, start);
+        if (slotRepository.existsByDoctorIdAndSlotStart(doctorId, start)) {
+            throw new SlotUnavailableException("Doctor is already booked at " + start);
+        }
+        return start;
+    }
+
+    /** Cancels the appointment and frees its slot. */
+    @Transactional
+    public void cancel(Long appointmentId) {
+        appointmentService.cancelAppointment(appointmentId);
+        slotRepository.findByAppointmentId(appointmentId).ifPresent(slot -> {
+            slotRepository.deleteByAppointmentId(appointmentId);
+            releaseAfterCommit(slot.getDoctorId(), slot.getSlotStart());
+        });
+    }
+
+    /**
+     * Keeps the sets in step with committed writes made outside the methods
+     * above: slot rows written by an import or moved, and appointments deleted
+     * or cancelled e.g. through {@code AppointmentService}, whose slot row is
+     * deleted here. Runs after commit; only a delete or cancellation opens a
+     * transaction, and freeing an already freed slot is a no-op.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChange(EntityChangeEvent event) {
+        if (event.entity() instanceof AppointmentSlot slot) {
+            switch (event.kind()) {
+                case INSERT -> slots(slot.getDoctorId()).add(slot.getSlotStart());
+                case UPDATE -> {
+                    if (event.previous("slotStart") instanceof LocalDateTime previous) {
+                        release(slot.getDoctorId(), previous);
+                    }
+                    slots(slot.getDoctorId()).add(slot.getSlotStart());
+                }
+                case DELETE -> release(slot.getDoctorId(), slot.getSlotStart());
+            }
+            return;
+        }
+        if (!event.concerns(Appointment.class)) return;
+        Appointment appointment = (Appointment) event.entity();
+        boolean freed = switch (event.kind()) {
+            case DELETE -> true;
+            case UPDATE -> "CANCELLED".equalsIgnoreCase(appointment.getStatus());
+            case INSERT -> false;
+        };
+        if (freed && appointment.getId() != null) {
+            AppointmentSlot slot = requiresNew.execute(status -> {
+                AppointmentSlot found = slotRepository.findByAppointmentId(appointment.getId()).orElse(null);
+                if (found != null) slotRepository.deleteByAppointmentId(appointment.getId());
+                return found;
+            });
+            if (slot != null) release(slot.getDoctorId(), slot.getSlotStart());
+        }
+    }
+
+    /** Doctors are in the second-level cache, so this is usually a memory lookup. */
+    public boolean doctorExists(Long doctorId) {
+        return doctorId != null && entityManager.find(Doctor.class, doctorId) != null;
+    }
+
+    private void checkBookable(Long doctorId, LocalDateTime start) {
+        if (!doctorExists(doctorId)) {
+            throw new IllegalArgumentException("Doctor " + doctorId + " not found");
+        }
+        checkWorkingHours(start);
+    }
+
+    /** The whole slot must fall between day-start and day-end. */
+    private void checkWorkingHours(LocalDateTime start) {
+        LocalTime time = start.toLocalTime();
+        if (time.isBefore(dayStart) || time.plusMinutes(slotMinutes).isAfter(dayEnd)
+                || time.plusMinutes(slotMinutes).isBefore(time)) {
+            throw new IllegalArgumentException("Slots are between " + dayStart + " and " + dayEnd);
+        }
+    }
+
+    private ConcurrentSkipListSet<LocalDateTime> slots(Long doctorId) {
+        return booked.computeIfAbsent(doctorId, id -> new ConcurrentSkipListSet<>());
+    }
+
+    private void release(Long doctorId, LocalDateTime start) {
+        ConcurrentSkipListSet<LocalDateTime> set = booked.get(doctorId);
+        if (set != null) set.remove(start);
+    }
+
+    /** Atomically takes the slot in memory; undone automatically unless the transaction commits. */
+    private void claim(Long doctorId, LocalDateTime start) {
+        if (!slots(doctorId).add(start)) {
+            throw new SlotUnavailableException("Doctor is already booked at " + start);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) release(doctorId, start);
+            }
+        });
+    }
+
+    private void releaseAfterCommit(Long doctorId, LocalDateTime start) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                release(doctorId, start);
+            }
+        });
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.project.service;
+
+import com.example.project.dto.DepartmentOption;
+import com.example.project.dto.DoctorOption;
+import com.example.project.event.EntityChangeEvent;
+import com.example.project.model.Admission;
+import com.example.project.model.Department;
+import com.example.project.model.Doctor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Live admission census. Current stays are held in memory, loaded from the
+ * database at startup and moved by committed {@link EntityChangeEvent}s;
+ * after every change an immutable {@link CensusSnapshot} is rebuilt, so reads
+ * are a field access. Snapshots are published as application events (at most
+ * once a second) for the SSE feed, and rebuilt every minute because lengths of
+ * stay grow with the clock. A periodic reload corrects drift from bulk SQL or
+ * other instances.
+ */
+@Service
+public class CensusService {
+
+    private static final Logger log = LoggerFactory.getLogger(CensusService.class);
+
+    public static final String DISCHARGED = "DISCHARGED";
+    static final String[] LOS_BUCKETS = {"<1d", "1-2d", "3-6d", "7-13d", "14-29d", "30d+"};
+    private static final int[] LOS_LOWER_DAYS = {0, 1, 3, 7, 14, 30};
+
+    private record Stay(String status, LocalDateTime admittedAt, Long doctorId) {
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ReferenceDataService referenceDataService;
+    private final ApplicationEventPublisher publisher;
+    private final TransactionTemplate readOnlyTx;
+
+    // guarded by this
+    private final Map<Long, Stay> stays = new HashMap<>();
+    private final Map<String, Long> statusCounts = new HashMap<>();
+    private final Map<Long, Long> doctorDepartments = new HashMap<>();
+
+    private volatile CensusSnapshot snapshot = new CensusSnapshot(Instant.now(), 0, Map.of(), Map.of(), List.of(), List.of());
+    private volatile boolean changed;
+
+    public CensusService(ReferenceDataService referenceDataService,
+                         ApplicationEventPublisher publisher,
+                         PlatformTransactionManager transactionManager) {
+        this.referenceDataService = referenceDataService;
+        this.publisher = publisher;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    public CensusSnapshot snapshot() {
+        return snapshot;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+    }
+
+    @Scheduled(initialDelayString = "${app.census.reconcile-interval-ms:600000}",
+               fixedDelayString = "${app.census.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        long before = snapshot.admitted();
+        reload();
+        if (snapshot.admitted() != before) {
+            log.info("Census corrected: {} -> {} admitted", before, snapshot.admitted());
+        }
+    }
+
+    synchronized void reload() {
+        try {
+            readOnlyTx.executeWithoutResult(status -> {
+                stays.clear();
+                for (Object[] r : entityManager.createQuery(
+                        "select a.id, a.status, a.admittedAt, d.id from Admission a left join a.doctor d" +
+                        " where a.status is null or upper(a.status) <> :discharged", Object[].class)
+                        .setParameter("discharged", DISCHARGED)
+                        .getResultList()) {
+                    stays.put((Long) r[0], new Stay(normalise((String) r[1]), (LocalDateTime) r[2], (Long) r[3]));
+                }
+                statusCounts.clear();
+                for (Object[] r : entityManager.createQuery(
+                        "select a.status, count(a) from Admission a group by a.status", Object[].class).getResultList()) {
+                    statusCounts.merge(normalise((String) r[0]), (Long) r[1], Long::sum);
+                }
+                loadDoctorDepartments();
+            });
+            rebuild();
+        } catch (Exception e) {
+            log.warn("Could not load admission census: {}", e.getMessage());
+        }
+    }
+
+    private void loadDoctorDepartments() {
+        doctorDepartments.clear();
+        for (Doctor d : referenceDataService.doctors()) {
+            doctorDepartments.put(d.getId(), d.getDepartment() == null ? null : d.getDepartment().getId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onEntityChange(EntityChangeEvent event) {
+        if (event.entity() instanceof Admission admission) {
+            onAdmission(event, admission);
+        } else if (event.concerns(Doctor.class) || event.concerns(Department.class)) {
+            readOnlyTx.executeWithoutResult(status -> loadDoctorDepartments());
+        } else {
+            return;
+        }
+        rebuild();
+    }
+
+    private void onAdmission(EntityChangeEvent event, Admission admission) {
+        Long id = admission.getId();
+        Stay old = stays.remove(id);
+        String oldStatus = event.hasPreviousState() ? normalise((String) event.previous("status"))
+                : old != null ? old.status() : null;
+        String newStatus = normalise(admission.getStatus());
+
+        if (event.kind() != EntityChangeEvent.Kind.INSERT && oldStatus != null) {
+            statusCounts.computeIfPresent(oldStatus, (k, n) -> n > 1 ? n - 1 : null);
+        }
+        if (event.kind() == EntityChangeEvent.Kind.DELETE) return;
+
+        statusCounts.merge(newStatus, 1L, Long::sum);
+        if (!DISCHARGED.equals(newStatus)) {
+            Long doctorId = admission.getDoctor() == null ? null : admission.getDoctor().getId();
+            stays.put(id, new Stay(newStatus, admission.getAdmittedAt(), doctorId));
+        }
+    }
+
+    /** Lengths of stay move with the clock even when nothing is written. */
+    @Scheduled(fixedDelayString = "${app.census.refresh-interval-ms:60000}")
+    public synchronized void refresh() {
+        rebuild();
+    }
+
+    /** Pushes the latest snapshot to subscribers, coalescing bursts of writes. */
+    @Scheduled(fixedDelayString = "${app.census.publish-interval-ms:1000}")
+    public void publishIfChanged() {
+        if (changed) {
+            changed = false;
+            publisher.publishEvent(snapshot);
+        }
+    }
+
+    private void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, String> doctorNames = names(referenceDataService.doctorOptions(), DoctorOption::getId, DoctorOption::getDisplayName);
+        Map<Long, String> departmentNames = names(referenceDataService.departmentOptions(), DepartmentOption::getId, DepartmentOption::getName);
+
+        long[] total = new long[LOS_BUCKETS.length];
+        Map<Long, long[]> byDoctor = new HashMap<>();
+        Map<Long, long[]> byDepartment = new HashMap<>();
+        Map<Long, Double> doctorDays = new HashMap<>();
+        Map<Long, Double> departmentDays = new HashMap<>();
+        for (Stay stay : stays.values()) {
+            double days = stay.admittedAt() == null ? 0 : Duration.between(stay.admittedAt(), now).toMinutes() / 1440.0;
+            int bucket = bucket(days);
+            Long departmentId = stay.doctorId() == null ? null : doctorDepartments.get(stay.doctorId());
+            total[bucket]++;
+            byDoctor.computeIfAbsent(stay.doctorId(), k -> new long[LOS_BUCKETS.length])[bucket]++;
+            byDepartment.computeIfAbsent(departmentId, k -> new long[LOS_BUCKETS.length])[bucket]++;
+            doctorDays.merge(stay.doctorId(), days, Double::sum);
+            departmentDays.merge(departmentId, days, Double::sum);
+        }
+        snapshot = new CensusSnapshot(Instant.now(), stays.size(), Map.copyOf(statusCounts), histogram(total),
+                groups(byDoctor, doctorDays, doctorNames), groups(byDepartment, departmentDays, departmentNames));
+        changed = true;
+    }
+
+    private static List<CensusSnapshot.Group> groups(Map<Long, long[]> counts, Map<Long, Double> days, Map<Long, String> names) {
+        List<CensusSnapshot.Group> groups = new ArrayList<>(counts.size());
+        counts.forEach((id, histogram) -> {
+            long n = 0;
+            for (long c : histogram) n += c;
+            String name = id == null ? "Unassigned" : names.getOrDefault(id, "#" + id);
+            groups.add(new CensusSnapshot.Group(id, name, n, Math.round(days.get(id) / n * 10) / 10.0, histogram(histogram)));
+        });
+        groups.sort(Comparator.comparingLong(CensusSnapshot.Group::admitted).reversed()
+                .thenComparing(CensusSnapshot.Group::name));
+        return List.copyOf(groups);
+    }
+
+    private static Map<String, Long> histogram(long[] counts) {
+        Map<String, Long> map = new LinkedHashMap<>();
+        for (int i = 0; i < LOS_BUCKETS.length; i++) map.put(LOS_BUCKETS[i], counts[i]);
+        return map;
+    }
+
+    private static int bucket(double days) {
+        for (int i = LOS_LOWER_DAYS.length - 1; i > 0; i--) {
+            if (days >= LOS_LOWER_DAYS[i]) return i;
+        }
+        return 0;
+    }
+
+    private static <T> Map<Long, String> names(List<T> options, Function<T, Long> id, Function<T, String> name) {
+        Map<Long, String> map = new HashMap<>(options.size() * 2);
+        for (T o : options) map.put(id.apply(o), Objects.toString(name.apply(o), ""));
+        return map;
+    }
+
+    private static String normalise(String status) {
+        return status == null ? "UNKNOWN" : status.trim().toUpperCase(Locale.ROOT);
+    }
+}
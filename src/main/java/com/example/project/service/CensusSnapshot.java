@@ -0,0 +1,21 @@
+package com.example.project.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Point-in-time admission census. Counts and length-of-stay histograms cover
+ * patients currently admitted (not discharged); {@code byStatus} counts all admissions.
+ */
+public record CensusSnapshot(Instant asOf,
+                             long admitted,
+                             Map<String, Long> byStatus,
+                             Map<String, Long> lengthOfStay,
+                             List<Group> byDoctor,
+                             List<Group> byDepartment) {
+
+    /** Occupancy of one doctor or department; {@code id} is null for unassigned stays. */
+    public record Group(Long id, String name, long admitted, double averageDays, Map<String, Long> lengthOfStay) {
+    }
+}
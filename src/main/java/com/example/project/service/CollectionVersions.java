@@ -0,0 +1,192 @@
+package com.example.project.service;
+
+import com.example.project.event.EntityChangeEvent;
+import com.example.project.model.Admission;
+import com.example.project.model.Appointment;
+import com.example.project.model.AppointmentSlot;
+import com.example.project.model.Department;
+import com.example.project.model.Doctor;
+import com.example.project.model.Invoice;
+import com.example.project.model.Patient;
+import com.example.project.model.CollectionVersion;
+import com.example.project.model.Prescription;
+import com.example.project.repository.CollectionVersionRepository;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Version stamp per collection, bumped after every committed write to it. A
+ * page built from a set of collections is unchanged while all their versions
+ * are, which lets HTTP validators be answered without running queries.
+ * <p>
+ * Stamps are bumped after commit, so a response can only ever be newer than
+ * the ETag it carries (which costs one extra 200), never older. They live in
+ * the {@code collection_versions} table, so every instance behind a load
+ * balancer hands out the same validators and a write on one invalidates the
+ * others; a check is one primary-key read instead of the page's queries.
+ * A transaction bumps each collection it wrote once, however many rows it
+ * touched.
+ */
+@Service
+public class CollectionVersions {
+
+    private static final Logger log = LoggerFactory.getLogger(CollectionVersions.class);
+
+    public static final String PATIENTS = "patients";
+    public static final String DOCTORS = "doctors";
+    public static final String DEPARTMENTS = "departments";
+    public static final String INVOICES = "invoices";
+    public static final String ADMISSIONS = "admissions";
+    public static final String APPOINTMENTS = "appointments";
+    public static final String PRESCRIPTIONS = "prescriptions";
+
+    private static final Map<Class<?>, String> COLLECTIONS = Map.of(
+            Patient.class, PATIENTS,
+            Doctor.class, DOCTORS,
+            Department.class, DEPARTMENTS,
+            Invoice.class, INVOICES,
+            Admission.class, ADMISSIONS,
+            Appointment.class, APPOINTMENTS,
+            AppointmentSlot.class, APPOINTMENTS,
+            Prescription.class, PRESCRIPTIONS);
+
+    private static final Object TOUCHED = new Object();
+
+    public record Stamp(long version, Instant lastModified) {
+    }
+
+    /** HTTP validators for a representation built only from some collections. */
+    public record Validators(String etag, long lastModified) {
+    }
+
+    // stands in for a collection whose row is missing (e.g. the table was just created)
+    private final Instant started = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+    private final CollectionVersionRepository repository;
+    private final TransactionTemplate writeTx;
+
+    public CollectionVersions(CollectionVersionRepository repository, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.writeTx = new TransactionTemplate(transactionManager);
+        this.writeTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Gives every collection a row, so Last-Modified stays put across restarts
+     * instead of falling back to each instance's start time.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void register() {
+        long now = started.toEpochMilli();
+        try {
+            writeTx.executeWithoutResult(status ->
+                    new HashSet<>(COLLECTIONS.values()).forEach(c -> repository.register(c, now)));
+        } catch (Exception e) {
+            log.warn("Could not register collection versions: {}", e.getMessage());
+        }
+    }
+
+    public Stamp stamp(String collection) {
+        return stamps(collection).get(collection);
+    }
+
+    public void bump(String collection) {
+        bump(Set.of(collection));
+    }
+
+    /** Bumps several collections in one transaction, in name order so concurrent bumps lock rows alike. */
+    private void bump(Collection<String> collections) {
+        long now = Instant.now().truncatedTo(ChronoUnit.SECONDS).toEpochMilli();
+        writeTx.executeWithoutResult(status -> new TreeSet<>(collections).forEach(c -> repository.bump(c, now)));
+    }
+
+    /**
+     * Strong ETag and latest change (epoch millis) for {@code collections},
+     * read with one query.
+     */
+    public Validators validators(String... collections) {
+        Map<String, Stamp> stamps = stamps(collections);
+        StringBuilder tag = new StringBuilder("\"v");
+        Instant latest = Instant.EPOCH;
+        for (String c : collections) {
+            Stamp stamp = stamps.get(c);
+            tag.append('-').append(stamp.version());
+            if (stamp.lastModified().isAfter(latest)) latest = stamp.lastModified();
+        }
+        return new Validators(tag.append('"').toString(), latest.toEpochMilli());
+    }
+
+    private Map<String, Stamp> stamps(String... collections) {
+        Map<String, Stamp> stamps = new HashMap<>();
+        for (CollectionVersion v : repository.findAll(Arrays.asList(collections))) {
+            stamps.put(v.getCollection(), new Stamp(v.getVersion(), Instant.ofEpochMilli(v.getLastModified())));
+        }
+        for (String c : collections) stamps.putIfAbsent(c, new Stamp(0, started));
+        return stamps;
+    }
+
+    /**
+     * Notes the collection an entity belongs to; the collections a transaction
+     * wrote are bumped together once it commits, or at once outside one.
+     */
+    @EventListener
+    public void onEntityChange(EntityChangeEvent event) {
+        String collection = COLLECTIONS.get(Hibernate.getClass(event.entity()));
+        if (collection == null) return;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            touched().add(collection);
+        } else {
+            bumpQuietly(Set.of(collection));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<String> touched() {
+        Set<String> touched = (Set<String>) TransactionSynchronizationManager.getResource(TOUCHED);
+        if (touched == null) {
+            Set<String> collections = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(TOUCHED, collections);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bumpQuietly(collections);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TOUCHED);
+                }
+            });
+            touched = collections;
+        }
+        return touched;
+    }
+
+    private void bumpQuietly(Set<String> collections) {
+        try {
+            bump(collections);
+        } catch (Exception e) {
+            // the next successful bump moves the ETag on; until then clients may revalidate to stale pages
+            log.warn("Could not bump the {} versions: {}", collections, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.project.service;
+
+import com.example.project.event.EntityChangeEvent;
+import com.example.project.model.Appointment;
+import com.example.project.model.Invoice;
+import com.example.project.model.Patient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory dashboard counters. Loaded from {@link DashboardStatsService} at
+ * startup, then moved by committed {@link EntityChangeEvent}s so that
+ * {@code /dashboard/stats} never touches the database. A midnight reload
+ * resets the "today" counters and a periodic reload corrects any drift
+ * (bulk SQL updates, changes from other instances). The counters live in one
+ * immutable {@link Counters} value: events swap in an adjusted copy and a
+ * reload swaps in a fresh one, so readers never see a half-applied reload.
+ * Reloads run on the scheduler, never on a request thread.
+ */
+@Service
+public class DashboardMetricsCache {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardMetricsCache.class);
+
+    /** One consistent set of counters for {@code day}. */
+    record Counters(LocalDate day, long totalPatients, long newPatientsToday, long todayAppointments,
+                    BigDecimal unpaidTotal) {
+
+        static final Counters EMPTY = new Counters(null, 0, 0, 0, BigDecimal.ZERO);
+
+        static Counters of(LocalDate day, DashboardStats stats) {
+            return new Counters(day, stats.totalPatients(), stats.newPatientsToday(), stats.todayAppointments(),
+                    stats.unpaidTotal());
+        }
+
+        Counters plus(long patients, long newPatients, long appointments, BigDecimal unpaid) {
+            return new Counters(day, totalPatients + patients, newPatientsToday + newPatients,
+                    todayAppointments + appointments, unpaidTotal.add(unpaid));
+        }
+
+        DashboardStats stats() {
+            return new DashboardStats(totalPatients, newPatientsToday, todayAppointments, unpaidTotal);
+        }
+
+        boolean isToday(LocalDateTime dateTime) {
+            return dateTime != null && dateTime.toLocalDate().equals(day);
+        }
+    }
+
+    private final DashboardStatsService statsService;
+    private final TaskScheduler scheduler;
+
+    private final AtomicReference<Counters> counters = new AtomicReference<>(Counters.EMPTY);
+    private final AtomicBoolean rolloverPending = new AtomicBoolean();
+
+    public DashboardMetricsCache(DashboardStatsService statsService, TaskScheduler scheduler) {
+        this.statsService = statsService;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * The current counters. Past midnight, before the rollover job has run,
+     * this still returns the previous day's values and asks the scheduler
+     * for a reload instead of querying on the caller's thread.
+     */
+    public DashboardStats snapshot() {
+        Counters current = counters.get();
+        if (!LocalDate.now().equals(current.day()) && rolloverPending.compareAndSet(false, true)) {
+            scheduler.schedule(() -> {
+                try {
+                    reload();
+                } finally {
+                    rolloverPending.set(false);
+                }
+            }, Instant.now());
+        }
+        return current.stats();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+    }
+
+    @Scheduled(cron = "0 0 0 * * *")
+    public void rollOverDay() {
+        reload();
+    }
+
+    @Scheduled(initialDelayString = "${app.dashboard.reconcile-interval-ms:300000}",
+               fixedDelayString = "${app.dashboard.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        DashboardStats before = counters.get().stats();
+        DashboardStats after = reload();
+        if (after != null && !sameValues(before, after)) {
+            log.info("Dashboard counters corrected: {} -> {}", before, after);
+        }
+    }
+
+    synchronized DashboardStats reload() {
+        try {
+            LocalDate today = LocalDate.now();
+            DashboardStats stats = statsService.currentStats();
+            // events committed while the queries ran may be missing here; the next reconcile picks them up
+            counters.set(Counters.of(today, stats));
+            return stats;
+        } catch (Exception e) {
+            log.warn("Could not reload dashboard counters: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChange(EntityChangeEvent event) {
+        if (event.concerns(Patient.class)) {
+            onPatient(event);
+        } else if (event.concerns(Appointment.class)) {
+            onAppointment(event, (Appointment) event.entity());
+        } else if (event.concerns(Invoice.class)) {
+            onInvoice(event, (Invoice) event.entity());
+        }
+    }
+
+    private void onPatient(EntityChangeEvent event) {
+        switch (event.kind()) {
+            case INSERT -> counters.updateAndGet(c -> c.plus(1, 1, 0, BigDecimal.ZERO));
+            case DELETE -> counters.updateAndGet(c -> c.plus(-1, 0, 0, BigDecimal.ZERO));
+            default -> { }
+        }
+    }
+
+    private void onAppointment(EntityChangeEvent event, Appointment appointment) {
+        LocalDateTime at = appointment.getAppointmentDateTime();
+        switch (event.kind()) {
+            case INSERT -> counters.updateAndGet(c -> c.isToday(at) ? c.plus(0, 0, 1, BigDecimal.ZERO) : c);
+            case DELETE -> counters.updateAndGet(c -> c.isToday(at) ? c.plus(0, 0, -1, BigDecimal.ZERO) : c);
+            case UPDATE -> {
+                if (!event.hasPreviousState()) return;
+                LocalDateTime was = (LocalDateTime) event.previous("appointmentDateTime");
+                counters.updateAndGet(c -> {
+                    long delta = (c.isToday(at) ? 1 : 0) - (c.isToday(was) ? 1 : 0);
+                    return delta == 0 ? c : c.plus(0, 0, delta, BigDecimal.ZERO);
+                });
+            }
+        }
+    }
+
+    private void onInvoice(EntityChangeEvent event, Invoice invoice) {
+        BigDecimal now = unpaidAmount(invoice.getStatus(), invoice.getAmount());
+        BigDecimal delta = switch (event.kind()) {
+            case INSERT -> now;
+            case DELETE -> now.negate();
+            case UPDATE -> event.hasPreviousState()
+                    ? now.subtract(unpaidAmount((String) event.previous("status"), (BigDecimal) event.previous("amount")))
+                    : BigDecimal.ZERO;
+        };
+        if (delta.signum() != 0) {
+            counters.updateAndGet(c -> c.plus(0, 0, 0, delta));
+        }
+    }
+
+    private static BigDecimal unpaidAmount(String status, BigDecimal amount) {
+        if (amount == null || "PAID".equalsIgnoreCase(status)) return BigDecimal.ZERO;
+        return amount;
+    }
+
+    private static boolean sameValues(DashboardStats a, DashboardStats b) {
+        return a.totalPatients() == b.totalPatients()
+                && a.newPatientsToday() == b.newPatientsToday()
+                && a.todayAppointments() == b.todayAppointments()
+                && a.unpaidTotal().compareTo(b.unpaidTotal()) == 0;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.project.service;
+
+import com.example.project.repository.AdmissionQueryRepository;
+import com.example.project.repository.AppointmentQueryRepository;
+import com.example.project.repository.InvoiceQueryRepository;
+import com.example.project.repository.PatientQueryRepository;
+import com.example.project.repository.PrescriptionQueryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Bounded "most recent N" slices for the dashboard. Each section is an
+ * independent query so the page can load them separately as fragments.
+ */
+@Service
+@Transactional(readOnly = true)
+public class DashboardSectionService {
+
+    public static final List<String> SECTIONS = List.of(
+            "patients", "todayAppointments", "upcomingAppointments", "admissions", "prescriptions", "invoices");
+    public static final int MAX_LIMIT = 50;
+
+    private final PatientQueryRepository patients;
+    private final AppointmentQueryRepository appointments;
+    private final AdmissionQueryRepository admissions;
+    private final PrescriptionQueryRepository prescriptions;
+    private final InvoiceQueryRepository invoices;
+
+    @Value("${app.appointments.upcoming-days:7}")
+    private int upcomingDays;
+
+    public DashboardSectionService(PatientQueryRepository patients,
+                                   AppointmentQueryRepository appointments,
+                                   AdmissionQueryRepository admissions,
+                                   PrescriptionQueryRepository prescriptions,
+                                   InvoiceQueryRepository invoices) {
+        this.patients = patients;
+        this.appointments = appointments;
+        this.admissions = admissions;
+        this.prescriptions = prescriptions;
+        this.invoices = invoices;
+    }
+
+    /**
+     * @throws IllegalArgumentException for an unknown section name
+     */
+    public List<?> section(String name, int limit) {
+        Limit l = Limit.of(Math.max(1, Math.min(limit, MAX_LIMIT)));
+        LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
+        return switch (name) {
+            case "patients" -> patients.findRecent(l);
+            case "todayAppointments" -> appointments.findBetween(startOfDay, startOfDay.plusDays(1), l);
+            case "upcomingAppointments" -> {
+                LocalDateTime now = LocalDateTime.now();
+                yield appointments.findBetween(now, now.plusDays(upcomingDays), l);
+            }
+            case "admissions" -> admissions.findRecent(l);
+            case "prescriptions" -> prescriptions.findRecent(l);
+            case "invoices" -> invoices.findFirstPage(null, null, null, null, l);
+            default -> throw new IllegalArgumentException("Unknown dashboard section: " + name);
+        };
+    }
+}
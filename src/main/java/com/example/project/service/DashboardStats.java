@@ -0,0 +1,12 @@
+package com.example.project.service;
+
+import java.math.BigDecimal;
+
+/**
+ * Headline numbers shown on the dashboard cards.
+ */
+public record DashboardStats(long totalPatients,
+                             long newPatientsToday,
+                             long todayAppointments,
+                             BigDecimal unpaidTotal) {
+}
@@ -0,0 +1,68 @@
+package com.example.project.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Dashboard aggregates computed in the database: counts and sums only, no
+ * entity is loaded. Amounts stay {@link BigDecimal} end to end. Status
+ * checks are case-insensitive, as in {@link DashboardMetricsCache}.
+ */
+@Service
+@Transactional(readOnly = true)
+public class DashboardStatsService {
+
+    private static final String COUNT_PATIENTS = "select count(p) from Patient p";
+    private static final String COUNT_DOCTORS = "select count(d) from Doctor d";
+    private static final String COUNT_PATIENTS_CREATED_BETWEEN =
+            "select count(p) from Patient p where p.createdAt >= :start and p.createdAt < :end";
+    private static final String COUNT_APPOINTMENTS_BETWEEN =
+            "select count(a) from Appointment a where a.appointmentDateTime >= :start and a.appointmentDateTime < :end";
+    private static final String SUM_UNPAID =
+            "select coalesce(sum(i.amount), 0) from Invoice i where i.status is null or upper(i.status) <> 'PAID'";
+
+    @PersistenceContext
+    private EntityManager em;
+
+    public DashboardStats currentStats() {
+        LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
+        LocalDateTime endOfDay = startOfDay.plusDays(1);
+        return new DashboardStats(
+                countPatients(),
+                countPatientsCreatedBetween(startOfDay, endOfDay),
+                countAppointmentsBetween(startOfDay, endOfDay),
+                unpaidTotal());
+    }
+
+    public long countPatients() {
+        return em.createQuery(COUNT_PATIENTS, Long.class).getSingleResult();
+    }
+
+    public long countDoctors() {
+        return em.createQuery(COUNT_DOCTORS, Long.class).getSingleResult();
+    }
+
+    public long countPatientsCreatedBetween(LocalDateTime start, LocalDateTime end) {
+        return em.createQuery(COUNT_PATIENTS_CREATED_BETWEEN, Long.class)
+                .setParameter("start", start)
+                .setParameter("end", end)
+                .getSingleResult();
+    }
+
+    public long countAppointmentsBetween(LocalDateTime start, LocalDateTime end) {
+        return em.createQuery(COUNT_APPOINTMENTS_BETWEEN, Long.class)
+                .setParameter("start", start)
+                .setParameter("end", end)
+                .getSingleResult();
+    }
+
+    public BigDecimal unpaidTotal() {
+        return em.createQuery(SUM_UNPAID, BigDecimal.class).getSingleResult();
+    }
+}
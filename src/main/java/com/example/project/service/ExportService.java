@@ -0,0 +1,153 @@
+package com.example.project.service;
+
+import com.example.project.dto.AdmissionListItem;
+import com.example.project.dto.InvoiceExportRow;
+import com.example.project.repository.AdmissionQueryRepository;
+import com.example.project.repository.InvoiceQueryRepository;
+import com.example.project.util.CsvLine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Full-table extracts written straight to an output stream. Rows come from a
+ * forward-only database cursor as projections and are written one at a time,
+ * so memory stays flat however many rows there are. If reading fails part way,
+ * a last error row ({@code #ERROR} in CSV, an {@code "error"} object in NDJSON)
+ * marks the file as incomplete before the failure is rethrown.
+ */
+@Service
+public class ExportService {
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        public final String contentType;
+        public final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        /** @throws IllegalArgumentException for anything but csv / ndjson */
+        public static Format of(String value) {
+            return valueOf(value == null ? "CSV" : value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private static final int FLUSH_EVERY = 1000;
+
+    private final InvoiceQueryRepository invoiceQueryRepository;
+    private final AdmissionQueryRepository admissionQueryRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final ObjectMapper objectMapper;
+
+    public ExportService(InvoiceQueryRepository invoiceQueryRepository,
+                         AdmissionQueryRepository admissionQueryRepository,
+                         PlatformTransactionManager transactionManager,
+                         ObjectMapper objectMapper) {
+        this.invoiceQueryRepository = invoiceQueryRepository;
+        this.admissionQueryRepository = admissionQueryRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    public long exportInvoices(InvoiceFilter filter, Format format, OutputStream out) {
+        return readOnlyTx.execute(status -> {
+            try (Stream<InvoiceExportRow> rows = invoiceQueryRepository.streamForExport(
+                    filter.status(), filter.issuedFrom(), filter.issuedBefore(), filter.patientId())) {
+                return write(rows, format, out,
+                        new String[]{"id", "issuedAt", "status", "amount", "patientId", "patientName"},
+                        r -> new Object[]{r.id(), r.issuedAt(), r.status(), r.amount(), r.patientId(), r.patientName()});
+            }
+        });
+    }
+
+    public long exportAdmissions(AdmissionFilter filter, Format format, OutputStream out) {
+        return readOnlyTx.execute(status -> {
+            try (Stream<AdmissionListItem> rows = admissionQueryRepository.streamForExport(
+                    filter.status(), filter.admittedFrom(), filter.admittedBefore(), filter.patientId(), filter.doctorId())) {
+                return write(rows, format, out,
+                        new String[]{"id", "status", "admittedAt", "patientId", "patientName", "doctorId", "doctorName"},
+                        r -> new Object[]{r.id(), r.status(), r.admittedAt(), r.patientId(), r.patientName(),
+                                r.doctorId(), r.doctorName()});
+            }
+        });
+    }
+
+    private <T> long write(Stream<T> rows, Format format, OutputStream out,
+                           String[] header, Function<T, Object[]> columns) {
+        long count = 0;
+        Writer csv = null;
+        SequenceWriter ndjson = null;
+        try {
+            Iterator<T> it = rows.iterator();
+            if (format == Format.CSV) {
+                csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+                csv.write(CsvLine.join((Object[]) header));
+                csv.write("\r\n");
+                while (it.hasNext()) {
+                    csv.write(CsvLine.join(columns.apply(it.next())));
+                    csv.write("\r\n");
+                    if (++count % FLUSH_EVERY == 0) csv.flush();
+                }
+                csv.flush();
+            } else {
+                ndjson = objectMapper.writer().withRootValueSeparator("\n").writeValues(out);
+                while (it.hasNext()) {
+                    ndjson.write(it.next());
+                    if (++count % FLUSH_EVERY == 0) ndjson.flush();
+                }
+                ndjson.flush();
+                if (count > 0) out.write('\n');
+                out.flush();
+            }
+        } catch (IOException e) {
+            writeErrorRow(csv, ndjson, out, count, e);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            writeErrorRow(csv, ndjson, out, count, e);
+            throw e;
+        }
+        return count;
+    }
+
+    /** Best effort: when the client itself has gone away this fails too, and is ignored. */
+    private void writeErrorRow(Writer csv, SequenceWriter ndjson, OutputStream out, long count, Exception cause) {
+        String message = "export incomplete after " + count + " rows: " + cause.getClass().getSimpleName();
+        try {
+            if (csv != null) {
+                // rows end in CRLF, so this starts a line of its own
+                csv.write(CsvLine.join("#ERROR", message));
+                csv.write("\r\n");
+                csv.flush();
+            } else if (ndjson != null) {
+                ndjson.flush();
+                out.write((count > 0 ? "\n" : "").getBytes(StandardCharsets.UTF_8));
+                out.write(objectMapper.writeValueAsBytes(Map.of("error", message)));
+                out.write('\n');
+                out.flush();
+            }
+        } catch (IOException | RuntimeException ignored) {
+            // nothing more can be sent
+        }
+    }
+}
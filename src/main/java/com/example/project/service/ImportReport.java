@@ -0,0 +1,45 @@
+package com.example.project.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Failed rows are listed by input line number;
+ * after {@code maxErrors} only the count keeps growing.
+ */
+public class ImportReport {
+
+    public record RowError(int line, String message) {
+    }
+
+    private final int maxErrors;
+    private final List<RowError> errors = new ArrayList<>();
+    private int total;
+    private int imported;
+    private int failed;
+
+    public ImportReport(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    void rowRead() {
+        total++;
+    }
+
+    void imported(int count) {
+        imported += count;
+    }
+
+    void failed(int line, String message) {
+        failed++;
+        if (errors.size() < maxErrors) {
+            errors.add(new RowError(line, message));
+        }
+    }
+
+    public int getTotal() { return total; }
+    public int getImported() { return imported; }
+    public int getFailed() { return failed; }
+    public List<RowError> getErrors() { return errors; }
+    public boolean isErrorsTruncated() { return failed > errors.size(); }
+}
@@ -0,0 +1,25 @@
+package com.example.project.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Invoice list filter. Blank or unparsable values mean "no filter".
+ */
+public record InvoiceFilter(String status, LocalDate from, LocalDate to, Long patientId) {
+
+    public static InvoiceFilter of(String status, String from, String to, Long patientId) {
+        String s = (status == null || status.isBlank()) ? null : status.trim().toUpperCase();
+        return new InvoiceFilter(s, AdmissionFilter.parseDate(from), AdmissionFilter.parseDate(to), patientId);
+    }
+
+    /** Inclusive lower bound on issuedAt, or null. */
+    public LocalDateTime issuedFrom() {
+        return from == null ? null : from.atStartOfDay();
+    }
+
+    /** Exclusive upper bound on issuedAt, or null. */
+    public LocalDateTime issuedBefore() {
+        return to == null ? null : to.plusDays(1).atStartOfDay();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.project.service;
+
+import com.example.project.model.Invoice;
+import com.example.project.repository.InvoiceQueryRepository;
+import com.example.project.util.KeysetCursor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+@Service
+@Transactional(readOnly = true)
+public class InvoiceQueryService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final InvoiceQueryRepository repository;
+
+    public InvoiceQueryService(InvoiceQueryRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Returns the page that follows {@code cursor} (or the first page when it is blank).
+     *
+     * @throws IllegalArgumentException if the cursor token is malformed
+     */
+    public CursorPage<Invoice> seek(InvoiceFilter filter, String cursor, int size) {
+        int pageSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        // one extra row tells us whether another page exists
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<Invoice> rows;
+        if (after == null) {
+            rows = repository.findFirstPage(filter.status(), filter.issuedFrom(), filter.issuedBefore(), filter.patientId(), limit);
+        } else if (after.inNullTail()) {
+            rows = repository.findNullTailAfter(filter.status(), filter.issuedFrom(), filter.issuedBefore(), filter.patientId(),
+                    after.id(), limit);
+        } else {
+            rows = repository.findPageAfter(filter.status(), filter.issuedFrom(), filter.issuedBefore(), filter.patientId(),
+                    after.at(), after.id(), limit);
+        }
+
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<Invoice> items = rows.subList(0, pageSize);
+        Invoice last = items.get(pageSize - 1);
+        // an unstamped last row yields a null-tail cursor, paged by id alone
+        return new CursorPage<>(items, new KeysetCursor(last.getIssuedAt(), last.getId()).encode());
+    }
+
+    /**
+     * The whole filtered list in page order as a deferred cursor for streamed
+     * list rendering; must be consumed inside a transaction.
+     */
+    public Supplier<Stream<Invoice>> stream(InvoiceFilter filter) {
+        return () -> repository.streamForList(filter.status(), filter.issuedFrom(), filter.issuedBefore(), filter.patientId());
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.project.service;
+
+import com.example.project.config.QueryCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Loads the independent sections of a page at the same time. Each section runs
+ * on {@code sectionLoaderExecutor} in its own read-only transaction and must
+ * return fully initialised data (fetch joins / projections), since its
+ * persistence context is closed before the page renders. Results are joined
+ * against one deadline; a section that fails or misses it gets its fallback
+ * value and is listed in {@link Results#degraded()}, the rest of the page is unaffected.
+ * So is a section the executor rejects when its queue is full: it never runs
+ * on the request thread, where it would escape the deadline.
+ */
+@Service
+public class ParallelLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(ParallelLoader.class);
+
+    /** One named query and the value to show if it cannot be loaded in time. */
+    public record Section<T>(String name, Supplier<T> query, T fallback) {
+    }
+
+    public static <T> Section<T> section(String name, Supplier<T> query, T fallback) {
+        return new Section<>(name, query, fallback);
+    }
+
+    /** Loaded values by section name, in request order. */
+    public record Results(Map<String, Object> values, Set<String> degraded) {
+
+        @SuppressWarnings("unchecked")
+        public <T> T get(String name) {
+            return (T) values.get(name);
+        }
+    }
+
+    private record Outcome(Object value, int statements, int loads) {
+    }
+
+    private final ThreadPoolTaskExecutor executor;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.parallel.deadline-ms:2000}")
+    private long defaultDeadlineMs;
+
+    public ParallelLoader(@Qualifier("sectionLoaderExecutor") ThreadPoolTaskExecutor executor,
+                          PlatformTransactionManager transactionManager) {
+        this.executor = executor;
+        this.transactionManager = transactionManager;
+    }
+
+    public Results load(List<Section<?>> sections) {
+        return load(defaultDeadlineMs, sections);
+    }
+
+    public Results load(long deadlineMs, List<Section<?>> sections) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+        tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // also bounds each JPA query, so a timed-out section stops holding its connection
+        tx.setTimeout((int) Math.max(1, (deadlineMs + 999) / 1000));
+
+        List<Future<Outcome>> futures = new ArrayList<>(sections.size());
+        for (Section<?> section : sections) {
+            try {
+                futures.add(executor.submit(() -> run(tx, section)));
+            } catch (TaskRejectedException e) {
+                futures.add(null);
+            }
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+        Map<String, Object> values = new LinkedHashMap<>();
+        Set<String> degraded = new LinkedHashSet<>();
+        for (int i = 0; i < sections.size(); i++) {
+            Section<?> section = sections.get(i);
+            Future<Outcome> future = futures.get(i);
+            if (future == null) {
+                log.warn("Section '{}' rejected, section loader queue is full", section.name());
+                degrade(section, values, degraded);
+                continue;
+            }
+            try {
+                Outcome outcome = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                values.put(section.name(), outcome.value());
+                // count worker-thread SQL toward this request's budget
+                QueryCounter.add(outcome.statements(), outcome.loads());
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                log.warn("Section '{}' missed the {} ms deadline", section.name(), deadlineMs);
+                degrade(section, values, degraded);
+            } catch (ExecutionException e) {
+                log.warn("Section '{}' failed", section.name(), e.getCause());
+                degrade(section, values, degraded);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                degrade(section, values, degraded);
+            }
+        }
+        return new Results(values, Collections.unmodifiableSet(degraded));
+    }
+
+    /** Counts the section's own SQL; whatever the thread had counted before is put back. */
+    private static Outcome run(TransactionTemplate tx, Section<?> section) {
+        int statementsBefore = QueryCounter.count();
+        int loadsBefore = QueryCounter.entityLoads();
+        QueryCounter.reset();
+        try {
+            Object value = tx.execute(status -> section.query().get());
+            return new Outcome(value, QueryCounter.count(), QueryCounter.entityLoads());
+        } finally {
+            if (statementsBefore == 0 && loadsBefore == 0) {
+                QueryCounter.clear();
+            } else {
+                QueryCounter.reset();
+                QueryCounter.add(statementsBefore, loadsBefore);
+            }
+        }
+    }
+
+    private static void degrade(Section<?> section, Map<String, Object> values, Set<String> degraded) {
+        values.put(section.name(), section.fallback());
+        degraded.add(section.name());
+    }
+}
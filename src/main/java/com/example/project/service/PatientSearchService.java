@@ -0,0 +1,567 @@
+package com.example.project.service;
+
+import com.example.project.dto.PatientOption;
+import com.example.project.dto.PatientSearchHit;
+import com.example.project.event.EntityChangeEvent;
+import com.example.project.model.Patient;
+import com.example.project.model.PatientIndexChange;
+import com.example.project.repository.PatientIndexChangeRepository;
+import com.example.project.repository.PatientQueryRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.custom.CustomAnalyzer;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FieldExistsQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Patient search over an embedded Lucene index, replacing leading-wildcard
+ * LIKE scans. Name, email and phone are indexed for exact, prefix (edge
+ * n-gram), infix (trigram) and fuzzy matching; results are ranked and carry
+ * the stored fields, so a search never touches the database.
+ * <p>
+ * The index is rebuilt from the database when empty (or with
+ * {@code app.search.rebuild-on-start=true}) and then kept current from
+ * committed {@link EntityChangeEvent}s. Until the first build finishes,
+ * typeahead falls back to the indexed prefix query in {@link ReferenceDataService}.
+ * <p>
+ * Each instance keeps its own index, so committed patient writes are also
+ * recorded in the shared {@code patient_index_changes} log, which every
+ * instance polls and re-indexes from the database. A rebuild or catch-up
+ * streams a snapshot that may be older than writes applied while it runs;
+ * patients written that way during the pass are skipped by it.
+ * <p>
+ * Every Lucene commit records the highest patient id indexed and how far the
+ * change log was applied. An existing index is served at once on start while
+ * the log since then is applied and patients added after that mark are
+ * indexed from the database; if the instance was down for longer than the
+ * log is kept, or the patient count still disagrees, the index is rebuilt.
+ */
+@Service
+public class PatientSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(PatientSearchService.class);
+
+    public static final int MAX_PAGE_SIZE = 100;
+    /** Ranked paging stops here; refine the query rather than paging deeper. */
+    public static final int MAX_RESULT_WINDOW = 1000;
+
+    private static final String ID = "id";
+    private static final String NAME = "name";
+    private static final String NAME_PREFIX = "name_prefix";
+    private static final String NAME_GRAM = "name_gram";
+    private static final String EMAIL_PREFIX = "email_prefix";
+    private static final String PHONE_PREFIX = "phone_prefix";
+    private static final String SORT_NAME = "sort_name";
+    private static final String ID_DV = "id_dv";
+    /** Rebuild generation a document was written in; older ones are swept after a rebuild. */
+    private static final String GENERATION = "gen";
+
+    // Lucene commit user data
+    private static final String MAX_ID_KEY = "patients.max-id";
+    private static final String GENERATION_KEY = "patients.generation";
+    private static final String CHANGES_SEEN_KEY = "patients.changes-seen";
+
+    /** Change log re-read window, for commits logged late or stamped by a slightly slower clock. */
+    private static final long SYNC_OVERLAP_MS = 10_000;
+    private static final int SYNC_CHUNK = 500;
+
+    private static final Object PENDING_CHANGES = new Object();
+
+    private static final Sort RANKED = new Sort(SortField.FIELD_SCORE,
+            new SortField(SORT_NAME, SortField.Type.STRING), new SortField(ID_DV, SortField.Type.LONG));
+
+    private final PatientQueryRepository patientQueryRepository;
+    private final PatientIndexChangeRepository changeLog;
+    private final ReferenceDataService referenceDataService;
+    private final TransactionTemplate readOnlyTx;
+    private final TransactionTemplate writeTx;
+
+    @Value("${app.search.patient-index-dir:data/patient-index}")
+    private Path indexDir;
+
+    @Value("${app.search.rebuild-on-start:false}")
+    private boolean rebuildOnStart;
+
+    @Value("${app.search.change-retention-days:7}")
+    private int changeRetentionDays;
+
+    private Analyzer textAnalyzer;
+    private Analyzer indexAnalyzer;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private volatile boolean ready;
+    private final AtomicLong maxIndexedId = new AtomicLong();
+    private volatile long generation;
+    /** Epoch millis up to which the change log has been applied. */
+    private volatile long changesSeen;
+
+    // one rebuild or catch-up at a time; ids written from committed changes while it runs
+    private final ReentrantLock passLock = new ReentrantLock();
+    private volatile Map<Long, Boolean> passWrites;
+
+    public PatientSearchService(PatientQueryRepository patientQueryRepository,
+                                PatientIndexChangeRepository changeLog,
+                                ReferenceDataService referenceDataService,
+                                PlatformTransactionManager transactionManager) {
+        this.patientQueryRepository = patientQueryRepository;
+        this.changeLog = changeLog;
+        this.referenceDataService = referenceDataService;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.writeTx = new TransactionTemplate(transactionManager);
+        this.writeTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    void open() throws IOException {
+        textAnalyzer = CustomAnalyzer.builder()
+                .withTokenizer("standard").addTokenFilter("lowercase").addTokenFilter("asciifolding").build();
+        Analyzer namePrefix = CustomAnalyzer.builder()
+                .withTokenizer("standard").addTokenFilter("lowercase").addTokenFilter("asciifolding")
+                .addTokenFilter("edgengram", "minGramSize", "1", "maxGramSize", "20").build();
+        Analyzer nameGram = CustomAnalyzer.builder()
+                .withTokenizer("standard").addTokenFilter("lowercase").addTokenFilter("asciifolding")
+                .addTokenFilter("ngram", "minGramSize", "3", "maxGramSize", "3").build();
+        Analyzer emailPrefix = CustomAnalyzer.builder()
+                .withTokenizer("keyword").addTokenFilter("lowercase")
+                .addTokenFilter("edgengram", "minGramSize", "1", "maxGramSize", "40").build();
+        Analyzer phonePrefix = CustomAnalyzer.builder()
+                .withTokenizer("keyword").addTokenFilter("patternreplace", "pattern", "[^0-9]", "replacement", "")
+                .addTokenFilter("edgengram", "minGramSize", "1", "maxGramSize", "20").build();
+        indexAnalyzer = new PerFieldAnalyzerWrapper(textAnalyzer, Map.of(
+                NAME_PREFIX, namePrefix, NAME_GRAM, nameGram, EMAIL_PREFIX, emailPrefix, PHONE_PREFIX, phonePrefix));
+
+        IndexWriterConfig config = new IndexWriterConfig(indexAnalyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND)
+                .setRAMBufferSizeMB(64);
+        writer = new IndexWriter(FSDirectory.open(indexDir), config);
+        searcherManager = new SearcherManager(writer, null);
+
+        Map<String, String> committed = new HashMap<>();
+        Iterable<Map.Entry<String, String>> data = writer.getLiveCommitData();
+        if (data != null) data.forEach(e -> committed.put(e.getKey(), e.getValue()));
+        maxIndexedId.set(Long.parseLong(committed.getOrDefault(MAX_ID_KEY, "0")));
+        generation = Long.parseLong(committed.getOrDefault(GENERATION_KEY, "0"));
+        changesSeen = Long.parseLong(committed.getOrDefault(CHANGES_SEEN_KEY, "0"));
+        // an index written before the mark was recorded cannot be caught up, only rebuilt
+        ready = writer.getDocStats().numDocs > 0 && committed.containsKey(MAX_ID_KEY) && !rebuildOnStart;
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        searcherManager.close();
+        commit();
+        writer.close();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIfNeeded() {
+        Thread builder;
+        if (ready) {
+            log.info("Patient search index: {} documents, up to patient {}", writer.getDocStats().numDocs, maxIndexedId.get());
+            builder = new Thread(this::catchUp, "patient-index-catch-up");
+        } else {
+            builder = new Thread(this::rebuild, "patient-index-build");
+        }
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    /** Re-indexes every patient from the database and drops documents of patients that no longer exist. */
+    public void rebuild() {
+        if (!passLock.tryLock()) {
+            log.info("Patient search index pass already running; rebuild skipped");
+            return;
+        }
+        long started = System.nanoTime();
+        long startedAt = System.currentTimeMillis();
+        passWrites = new ConcurrentHashMap<>();
+        try {
+            long gen = ++generation;
+            long count = readOnlyTx.execute(status -> index(patientQueryRepository.streamForIndex()));
+            writer.deleteDocuments(new BooleanQuery.Builder()
+                    .add(NumericDocValuesField.newSlowRangeQuery(GENERATION, Long.MIN_VALUE, gen - 1), Occur.SHOULD)
+                    .add(new BooleanQuery.Builder()
+                            .add(new MatchAllDocsQuery(), Occur.MUST)
+                            .add(new FieldExistsQuery(GENERATION), Occur.MUST_NOT)
+                            .build(), Occur.SHOULD)
+                    .build());
+            // the snapshot is at least as new as every change logged before the pass began
+            changesSeen = Math.max(changesSeen, startedAt);
+            commit();
+            searcherManager.maybeRefresh();
+            ready = true;
+            log.info("Patient search index built: {} patients in {} ms", count, (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            log.error("Patient search index build failed; typeahead stays on the database", e);
+        } finally {
+            passWrites = null;
+            passLock.unlock();
+        }
+    }
+
+    /**
+     * Applies the change log since the last commit and indexes patients added
+     * after the committed high-water mark, then rebuilds if the log no longer
+     * reaches back that far or the index and the database still disagree on
+     * the number of patients.
+     */
+    public void catchUp() {
+        if (changesSeen < System.currentTimeMillis() - TimeUnit.DAYS.toMillis(changeRetentionDays)) {
+            log.info("Patient search index is older than the change log; rebuilding");
+            rebuild();
+            return;
+        }
+        syncChanges();
+        if (!passLock.tryLock()) return;
+        long after = maxIndexedId.get();
+        passWrites = new ConcurrentHashMap<>();
+        try {
+            long added = readOnlyTx.execute(status -> index(patientQueryRepository.streamForIndexAfter(after)));
+            commit();
+            searcherManager.maybeRefresh();
+            long patients = readOnlyTx.execute(status -> patientQueryRepository.count());
+            int documents = writer.getDocStats().numDocs;
+            if (documents != patients) {
+                log.info("Patient search index has {} documents for {} patients; rebuilding", documents, patients);
+                rebuild();
+                return;
+            }
+            log.info("Patient search index caught up: {} patients added after id {}", added, after);
+        } catch (IOException | RuntimeException e) {
+            log.error("Patient search index catch-up failed; searching the index as committed", e);
+        } finally {
+            passWrites = null;
+            passLock.unlock();
+        }
+    }
+
+    /** Indexes a pass's snapshot rows, except patients a committed change already wrote during the pass. */
+    private long index(Stream<Object[]> rows) {
+        Map<Long, Boolean> written = passWrites;
+        try (rows) {
+            long n = 0;
+            for (Object[] r : (Iterable<Object[]>) rows::iterator) {
+                // atomic per id against writeLive, which marks the id before writing it
+                written.compute((Long) r[0], (id, live) -> {
+                    if (live == null) write(id, r);
+                    return live;
+                });
+                n++;
+            }
+            return n;
+        }
+    }
+
+    /** Writes a committed change; {@code row} is null for a deleted patient. */
+    private void writeLive(Long id, Object[] row) {
+        Map<Long, Boolean> written = passWrites;
+        if (written != null) written.put(id, Boolean.TRUE);
+        write(id, row);
+    }
+
+    private void write(Long id, Object[] row) {
+        try {
+            Term term = new Term(ID, id.toString());
+            if (row == null) {
+                writer.deleteDocuments(term);
+                return;
+            }
+            writer.updateDocument(term, document(id, (String) row[1], (String) row[2], (String) row[3], (String) row[4], generation));
+            maxIndexedId.accumulateAndGet(id, Math::max);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Collects the patients written in the current transaction; once it
+     * commits they are indexed here and recorded for the other instances.
+     * Outside a transaction the change is applied at once.
+     */
+    @EventListener
+    public void onEntityChange(EntityChangeEvent event) {
+        if (!(event.entity() instanceof Patient patient) || patient.getId() == null) return;
+        Patient current = event.kind() == EntityChangeEvent.Kind.DELETE ? null : patient;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingChanges().put(patient.getId(), current);
+        } else {
+            applyCommitted(Collections.singletonMap(patient.getId(), current));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, Patient> pendingChanges() {
+        Map<Long, Patient> pending = (Map<Long, Patient>) TransactionSynchronizationManager.getResource(PENDING_CHANGES);
+        if (pending == null) {
+            Map<Long, Patient> changes = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(PENDING_CHANGES, changes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyCommitted(changes);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PENDING_CHANGES);
+                }
+            });
+            pending = changes;
+        }
+        return pending;
+    }
+
+    /** {@code changes} maps patient ids to their committed state, null when deleted. */
+    private void applyCommitted(Map<Long, Patient> changes) {
+        try {
+            changes.forEach((id, p) -> writeLive(id, p == null ? null
+                    : new Object[]{id, p.getFirstName(), p.getLastName(), p.getEmail(), p.getPhone()}));
+            searcherManager.maybeRefresh();
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Could not update patients {} in the search index", changes.keySet(), e);
+        }
+        long now = System.currentTimeMillis();
+        try {
+            writeTx.executeWithoutResult(status -> changeLog.saveAll(changes.keySet().stream()
+                    .map(id -> new PatientIndexChange(id, now)).toList()));
+        } catch (RuntimeException e) {
+            // other instances still converge on their next rebuild, or the start-up count check
+            log.warn("Could not record changed patients {} for the other instances: {}", changes.keySet(), e.getMessage());
+        }
+    }
+
+    /**
+     * Re-indexes from the database every patient in the change log since the
+     * last run, whichever instance wrote it. Re-indexing is idempotent, so the
+     * window overlaps the previous one.
+     */
+    @Scheduled(initialDelayString = "${app.search.sync-interval-ms:5000}",
+               fixedDelayString = "${app.search.sync-interval-ms:5000}")
+    public void syncChanges() {
+        if (!ready) return;
+        long now = System.currentTimeMillis();
+        long since = changesSeen - SYNC_OVERLAP_MS;
+        try {
+            List<Long> ids = readOnlyTx.execute(status -> changeLog.findPatientIdsChangedSince(since));
+            for (int i = 0; i < ids.size(); i += SYNC_CHUNK) {
+                List<Long> chunk = ids.subList(i, Math.min(i + SYNC_CHUNK, ids.size()));
+                Map<Long, Object[]> rows = new HashMap<>();
+                readOnlyTx.execute(status -> patientQueryRepository.findIndexRows(chunk))
+                        .forEach(r -> rows.put((Long) r[0], r));
+                chunk.forEach(id -> writeLive(id, rows.get(id)));
+            }
+            if (!ids.isEmpty()) searcherManager.maybeRefresh();
+            changesSeen = Math.max(changesSeen, now);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not apply the patient change log to the search index: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${app.search.change-prune-cron:0 15 3 * * *}")
+    public void pruneChanges() {
+        long before = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(changeRetentionDays);
+        try {
+            int pruned = writeTx.execute(status -> changeLog.deleteOlderThan(before));
+            log.info("Pruned {} patient index changes", pruned);
+        } catch (RuntimeException e) {
+            log.warn("Could not prune the patient change log: {}", e.getMessage());
+        }
+    }
+
+    /** Near-real-time updates are visible immediately; this makes them durable, with the high-water marks. */
+    @Scheduled(fixedDelayString = "${app.search.commit-interval-ms:30000}")
+    public void commit() throws IOException {
+        if (writer.hasUncommittedChanges()) {
+            writer.setLiveCommitData(Map.of(
+                    MAX_ID_KEY, Long.toString(maxIndexedId.get()),
+                    GENERATION_KEY, Long.toString(generation),
+                    CHANGES_SEEN_KEY, Long.toString(changesSeen)).entrySet());
+            writer.commit();
+        }
+    }
+
+    /** Ranked, paged search across name, email and phone, with fuzzy and infix matching. */
+    public Page<PatientSearchHit> search(String query, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        PageRequest pageable = PageRequest.of(Math.max(page, 0), pageSize);
+        if (query == null || query.isBlank() || pageable.getOffset() >= MAX_RESULT_WINDOW) {
+            return Page.empty(pageable);
+        }
+        if (!ready) {
+            List<PatientSearchHit> hits = referenceDataService.searchPatients(query, pageSize).stream()
+                    .map(o -> new PatientSearchHit(o.getId(), o.getFirstName(), o.getLastName(), null, null, 0f))
+                    .toList();
+            return new PageImpl<>(page == 0 ? hits : List.of(), pageable, hits.size());
+        }
+        TopHits top = run(build(query, true), (int) pageable.getOffset() + pageSize);
+        List<PatientSearchHit> content = top.hits.subList(Math.min((int) pageable.getOffset(), top.hits.size()), top.hits.size());
+        return new PageImpl<>(content, pageable, Math.min(top.total, MAX_RESULT_WINDOW));
+    }
+
+    /** Prefix-driven suggestions for the patient pickers; no fuzzy expansion, so it stays cheap per keystroke. */
+    public List<PatientOption> typeahead(String query, int limit) {
+        int n = Math.max(1, Math.min(limit, ReferenceDataService.MAX_TYPEAHEAD_RESULTS));
+        if (query == null || query.isBlank()) return List.of();
+        if (!ready) return referenceDataService.searchPatients(query, n);
+        return run(build(query, false), n).hits.stream()
+                .map(h -> new PatientOption(h.id(), h.firstName(), h.lastName()))
+                .toList();
+    }
+
+    private record TopHits(List<PatientSearchHit> hits, long total) {
+    }
+
+    private TopHits run(Query query, int n) {
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs top = searcher.search(query, n, RANKED, true);
+                StoredFields stored = searcher.storedFields();
+                List<PatientSearchHit> hits = new ArrayList<>(top.scoreDocs.length);
+                for (ScoreDoc sd : top.scoreDocs) {
+                    Document d = stored.document(sd.doc);
+                    hits.add(new PatientSearchHit(Long.valueOf(d.get(ID)), d.get("first"), d.get("last"),
+                            d.get("email"), d.get("phone"), sd.score));
+                }
+                return new TopHits(hits, top.totalHits.value);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Every query token must match the name (exact, prefix, and when
+     * {@code expand} also trigram-infix and fuzzy); alternatively the whole
+     * input may be an email or phone prefix.
+     */
+    private Query build(String input, boolean expand) {
+        String raw = input.trim().toLowerCase(Locale.ROOT);
+        BooleanQuery.Builder name = new BooleanQuery.Builder();
+        for (String token : analyze(textAnalyzer, raw)) {
+            BooleanQuery.Builder any = new BooleanQuery.Builder()
+                    .add(new BoostQuery(new TermQuery(new Term(NAME, token)), 5f), Occur.SHOULD)
+                    .add(new BoostQuery(new TermQuery(new Term(NAME_PREFIX, token)), 3f), Occur.SHOULD);
+            if (expand && token.length() >= 3) {
+                BooleanQuery.Builder grams = new BooleanQuery.Builder();
+                for (int i = 0; i + 3 <= token.length(); i++) {
+                    grams.add(new TermQuery(new Term(NAME_GRAM, token.substring(i, i + 3))), Occur.FILTER);
+                }
+                any.add(new BoostQuery(grams.build(), 1.5f), Occur.SHOULD);
+            }
+            if (expand && token.length() >= 4) {
+                any.add(new FuzzyQuery(new Term(NAME, token), token.length() >= 8 ? 2 : 1, 1), Occur.SHOULD);
+            }
+            name.add(any.build(), Occur.MUST);
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(name.build(), Occur.SHOULD)
+                .add(new BoostQuery(new TermQuery(new Term(EMAIL_PREFIX, raw.length() > 40 ? raw.substring(0, 40) : raw)), 4f), Occur.SHOULD);
+        String digits = raw.replaceAll("[^0-9]", "");
+        if (digits.length() >= 3) {
+            query.add(new BoostQuery(new TermQuery(new Term(PHONE_PREFIX, digits.length() > 20 ? digits.substring(0, 20) : digits)), 4f), Occur.SHOULD);
+        }
+        return query.setMinimumNumberShouldMatch(1).build();
+    }
+
+    private static List<String> analyze(Analyzer analyzer, String text) {
+        List<String> tokens = new ArrayList<>();
+        try (TokenStream ts = analyzer.tokenStream(NAME, text)) {
+            CharTermAttribute term = ts.addAttribute(CharTermAttribute.class);
+            ts.reset();
+            while (ts.incrementToken()) tokens.add(term.toString());
+            ts.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return tokens;
+    }
+
+    private static Document document(Long id, String first, String last, String email, String phone, long generation) {
+        String name = ((first == null ? "" : first) + " " + (last == null ? "" : last)).trim();
+        Document doc = new Document();
+        doc.add(new StringField(ID, id.toString(), Field.Store.YES));
+        doc.add(new NumericDocValuesField(ID_DV, id));
+        doc.add(new NumericDocValuesField(GENERATION, generation));
+        doc.add(new TextField(NAME, name, Field.Store.NO));
+        doc.add(new TextField(NAME_PREFIX, name, Field.Store.NO));
+        doc.add(new TextField(NAME_GRAM, name, Field.Store.NO));
+        doc.add(new SortedDocValuesField(SORT_NAME, new BytesRef(
+                ((last == null ? "" : last) + " " + (first == null ? "" : first)).toLowerCase(Locale.ROOT))));
+        if (first != null) doc.add(new StoredField("first", first));
+        if (last != null) doc.add(new StoredField("last", last));
+        if (email != null) {
+            doc.add(new StoredField("email", email));
+            doc.add(new TextField(EMAIL_PREFIX, email, Field.Store.NO));
+        }
+        if (phone != null) {
+            doc.add(new StoredField("phone", phone));
+            doc.add(new TextField(PHONE_PREFIX, phone, Field.Store.NO));
+        }
+        return doc;
+    }
+}
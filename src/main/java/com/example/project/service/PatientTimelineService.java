@@ -0,0 +1,162 @@
+package com.example.project.service;
+
+import com.example.project.config.CacheConfig;
+import com.example.project.dto.TimelineEntry;
+import com.example.project.event.EntityChangeEvent;
+import com.example.project.model.Appointment;
+import com.example.project.model.Invoice;
+import com.example.project.model.MedicalHistory;
+import com.example.project.model.Patient;
+import com.example.project.model.Prescription;
+import com.example.project.util.Temporals;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+/**
+ * A patient's medical history, appointments, prescriptions and invoices as one
+ * newest-first stream. Each page costs exactly four indexed queries (one per
+ * source, each limited to the rows the page can reach), merged in memory. The
+ * queries select only the columns an entry shows, so no entity or association
+ * is loaded. The first {@code app.timeline.cached-entries} entries per patient
+ * are cached as flat {@link TimelineEntry} values and evicted when any of
+ * those records is written for that patient.
+ */
+@Service
+@Transactional(readOnly = true)
+public class PatientTimelineService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+    /** Deepest entry reachable by paging; each source query is bounded by it. */
+    public static final int MAX_WINDOW = 1000;
+
+    private static final Comparator<TimelineEntry> NEWEST_FIRST =
+            Comparator.comparing(TimelineEntry::at, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder())).reversed()
+                    .thenComparing(TimelineEntry::type)
+                    .thenComparing(TimelineEntry::id, Comparator.reverseOrder());
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final CacheManager cacheManager;
+
+    @Value("${app.timeline.cached-entries:100}")
+    private int cachedEntries;
+
+    public PatientTimelineService(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public TimelinePage timeline(Long patientId, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int from = Math.max(page, 0) * pageSize;
+        if (from >= MAX_WINDOW) {
+            return new TimelinePage(List.of(), page, pageSize, false);
+        }
+        int needed = Math.min(from + pageSize, MAX_WINDOW);
+        // one extra entry tells us whether another page exists
+        List<TimelineEntry> entries = needed + 1 <= cachedEntries
+                ? cache().get(patientId, () -> load(patientId, cachedEntries))
+                : load(patientId, needed + 1);
+        int to = Math.min(from + pageSize, entries.size());
+        List<TimelineEntry> items = from < to ? List.copyOf(entries.subList(from, to)) : List.of();
+        return new TimelinePage(items, page, pageSize, entries.size() > to && to < MAX_WINDOW);
+    }
+
+    /** The newest {@code limit} entries across all four sources. */
+    List<TimelineEntry> load(Long patientId, int limit) {
+        List<List<TimelineEntry>> sources = List.of(
+                query("select h.id, h.visitDate from MedicalHistory h where h.patient.id = :pid" +
+                        " order by h.visitDate desc, h.id desc", patientId, limit,
+                        r -> new TimelineEntry("HISTORY", (Long) r[0], Temporals.toDateTime(r[1]), "Visit", null)),
+                query("select a.id, a.appointmentDateTime, a.purpose, a.status from Appointment a where a.patient.id = :pid" +
+                        " order by a.appointmentDateTime desc, a.id desc", patientId, limit,
+                        r -> new TimelineEntry("APPOINTMENT", (Long) r[0], Temporals.toDateTime(r[1]),
+                                "Appointment", join(r[2], r[3]))),
+                query("select p.id, p.dateIssued, p.medications from Prescription p where p.patient.id = :pid" +
+                        " order by p.dateIssued desc, p.id desc", patientId, limit,
+                        r -> new TimelineEntry("PRESCRIPTION", (Long) r[0], Temporals.toDateTime(r[1]),
+                                "Prescription", r[2] == null ? null : String.valueOf(r[2]))),
+                query("select i.id, i.issuedAt, i.amount, i.status from Invoice i where i.patient.id = :pid" +
+                        " order by i.issuedAt desc, i.id desc", patientId, limit,
+                        r -> new TimelineEntry("INVOICE", (Long) r[0], Temporals.toDateTime(r[1]),
+                                "Invoice", join(amount(r[2]), r[3]))));
+        return merge(sources, limit);
+    }
+
+    private List<TimelineEntry> query(String jpql, Long patientId, int limit, Function<Object[], TimelineEntry> mapper) {
+        return entityManager.createQuery(jpql, Object[].class)
+                .setParameter("pid", patientId)
+                .setMaxResults(limit)
+                .getResultList().stream().map(mapper).toList();
+    }
+
+    /** k-way merge of lists already sorted newest first. */
+    static List<TimelineEntry> merge(List<List<TimelineEntry>> sources, int limit) {
+        record Head(List<TimelineEntry> list, int index) {
+            TimelineEntry entry() { return list.get(index); }
+        }
+        PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparing(Head::entry, NEWEST_FIRST));
+        for (List<TimelineEntry> source : sources) {
+            if (!source.isEmpty()) heads.add(new Head(source, 0));
+        }
+        List<TimelineEntry> merged = new ArrayList<>(Math.min(limit, 256));
+        while (!heads.isEmpty() && merged.size() < limit) {
+            Head head = heads.poll();
+            merged.add(head.entry());
+            if (head.index() + 1 < head.list().size()) heads.add(new Head(head.list(), head.index() + 1));
+        }
+        return merged;
+    }
+
+    private static String join(Object a, Object b) {
+        if (a == null) return b == null ? null : b.toString();
+        return b == null ? a.toString() : a + " · " + b;
+    }
+
+    private static String amount(Object amount) {
+        if (amount instanceof BigDecimal d) return d.setScale(2, RoundingMode.HALF_UP).toPlainString();
+        return amount == null ? null : amount.toString();
+    }
+
+    // runs after commit and only evicts cache entries; opts out of the class-level read-only transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onEntityChange(EntityChangeEvent event) {
+        Object entity = event.entity();
+        Patient patient;
+        if (entity instanceof Patient p) patient = p;
+        else if (entity instanceof MedicalHistory h) patient = h.getPatient();
+        else if (entity instanceof Appointment a) patient = a.getPatient();
+        else if (entity instanceof Prescription p) patient = p.getPatient();
+        else if (entity instanceof Invoice i) patient = i.getPatient();
+        else return;
+
+        evict(patient);
+        // a record moved to another patient changes both timelines
+        if (event.previous("patient") instanceof Patient previous) evict(previous);
+    }
+
+    private void evict(Patient patient) {
+        if (patient != null && patient.getId() != null) cache().evict(patient.getId());
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(CacheConfig.PATIENT_TIMELINE);
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.project.service;
+
+import com.example.project.event.EntityChangeEvent;
+import com.example.project.model.BackfillCheckpoint;
+import com.example.project.model.Prescription;
+import com.example.project.model.PrescriptionMedication;
+import com.example.project.repository.BackfillCheckpointRepository;
+import com.example.project.repository.PrescriptionMedicationRepository;
+import com.example.project.util.MedicationParser;
+import com.example.project.util.Temporals;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps {@link PrescriptionMedication} line items in step with
+ * {@code Prescription.medications}. Each committed prescription write replaces
+ * that prescription's items; existing prescriptions are parsed once in the
+ * background in id order, one chunk per transaction. Each chunk records its
+ * last prescription id in {@code backfill_checkpoints} with the items, so a
+ * backfill cut short by a restart or crash resumes where it stopped.
+ * <p>
+ * Both paths rewrite a prescription's items while holding its row lock
+ * ({@code select ... for update}) and from the text committed at that point,
+ * so they never interleave on one prescription, on any instance. An edit only
+ * waits for the backfill chunk that holds its prescription.
+ */
+@Service
+public class PrescriptionMedicationService {
+
+    private static final Logger log = LoggerFactory.getLogger(PrescriptionMedicationService.class);
+
+    // renamed whenever MedicationParser splits differently, so stored items are parsed again
+    static final String BACKFILL = "prescription-medications-v2";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final PrescriptionMedicationRepository repository;
+    private final BackfillCheckpointRepository checkpoints;
+    private final TransactionTemplate writeTx;
+
+    @Value("${app.prescriptions.medication-backfill:true}")
+    private boolean backfillEnabled;
+
+    @Value("${app.prescriptions.medication-backfill-chunk:500}")
+    private int chunkSize;
+
+    public PrescriptionMedicationService(PrescriptionMedicationRepository repository,
+                                         BackfillCheckpointRepository checkpoints,
+                                         PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.checkpoints = checkpoints;
+        this.writeTx = new TransactionTemplate(transactionManager);
+        this.writeTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startBackfill() {
+        if (!backfillEnabled) {
+            return;
+        }
+        Thread builder = new Thread(this::backfillIfUnfinished, "prescription-medication-backfill");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    void backfillIfUnfinished() {
+        try {
+            BackfillCheckpoint checkpoint = writeTx.execute(status -> checkpoints.findById(BACKFILL).orElse(null));
+            if (checkpoint != null && checkpoint.isCompleted()) {
+                return;
+            }
+            long after = checkpoint == null ? 0 : checkpoint.getLastId();
+            long started = System.currentTimeMillis();
+            long prescriptions = backfill(after);
+            log.info("Indexed medications of {} prescriptions after id {} in {} ms",
+                    prescriptions, after, System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.warn("Prescription medication backfill failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Parses the medication text of every prescription after {@code after}.
+     * Safe to re-run: each chunk replaces the items of the prescriptions it
+     * covers.
+     *
+     * @return number of prescriptions processed
+     */
+    public long backfill(long after) {
+        long total = 0;
+        int size = Math.max(chunkSize, 1);
+        while (true) {
+            long from = after;
+            // the chunk's rows stay locked until its items commit; an edit to one of them
+            // waits, and its event then re-reads the edited text
+            Chunk chunk = writeTx.execute(status -> {
+                List<Object[]> rows = entityManager.createQuery(
+                        "select p.id, p.patient.id, p.doctor.id, p.dateIssued, p.medications from Prescription p" +
+                        " where p.id > :after order by p.id", Object[].class)
+                        .setParameter("after", from)
+                        .setMaxResults(size)
+                        .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                        .getResultList();
+                if (rows.isEmpty()) {
+                    checkpoints.record(BACKFILL, from, true);
+                    return null;
+                }
+                List<Long> ids = new ArrayList<>(rows.size());
+                List<PrescriptionMedication> items = new ArrayList<>();
+                for (Object[] r : rows) {
+                    Long id = (Long) r[0];
+                    ids.add(id);
+                    items.addAll(items(id, (Long) r[1], (Long) r[2], Temporals.toDateTime(r[3]),
+                            r[4] == null ? null : String.valueOf(r[4])));
+                }
+                Long lastId = ids.get(ids.size() - 1);
+                repository.deleteByPrescriptionIdIn(ids);
+                repository.saveAll(items);
+                checkpoints.record(BACKFILL, lastId, false);
+                entityManager.flush();
+                entityManager.clear();
+                return new Chunk(lastId, rows.size());
+            });
+            if (chunk == null) {
+                return total;
+            }
+            total += chunk.prescriptions();
+            after = chunk.lastId();
+        }
+    }
+
+    private record Chunk(long lastId, int prescriptions) {
+    }
+
+    /**
+     * Rewrites the items of a committed prescription from its current row
+     * rather than the event's copy, so of two quick edits the later text wins
+     * whichever event runs last; a deleted prescription just loses its items.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChange(EntityChangeEvent event) {
+        if (!(event.entity() instanceof Prescription p) || p.getId() == null) {
+            return;
+        }
+        Long id = p.getId();
+        try {
+            writeTx.executeWithoutResult(status -> {
+                List<Object[]> rows = entityManager.createQuery(
+                        "select p.patient.id, p.doctor.id, p.dateIssued, p.medications from Prescription p" +
+                        " where p.id = :id", Object[].class)
+                        .setParameter("id", id)
+                        .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                        .getResultList();
+                repository.deleteByPrescriptionId(id);
+                if (!rows.isEmpty()) {
+                    Object[] r = rows.get(0);
+                    repository.saveAll(items(id, (Long) r[0], (Long) r[1], Temporals.toDateTime(r[2]),
+                            r[3] == null ? null : String.valueOf(r[3])));
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Could not index medications of prescription {}: {}", id, e.getMessage());
+        }
+    }
+
+    private static List<PrescriptionMedication> items(Long prescriptionId, Long patientId, Long doctorId,
+                                                      LocalDateTime issuedAt, String medications) {
+        List<MedicationParser.Item> parsed = MedicationParser.parse(medications);
+        List<PrescriptionMedication> items = new ArrayList<>(parsed.size());
+        for (int i = 0; i < parsed.size(); i++) {
+            MedicationParser.Item item = parsed.get(i);
+            PrescriptionMedication m = new PrescriptionMedication();
+            m.setPrescriptionId(prescriptionId);
+            m.setPatientId(patientId);
+            m.setDoctorId(doctorId);
+            m.setIssuedAt(issuedAt);
+            m.setPosition(i);
+            m.setDrug(item.drug());
+            m.setDose(item.dose());
+            m.setInstructions(item.instructions());
+            m.setText(item.text());
+            items.add(m);
+        }
+        return items;
+    }
+}
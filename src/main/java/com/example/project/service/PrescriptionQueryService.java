@@ -0,0 +1,84 @@
+package com.example.project.service;
+
+import com.example.project.model.Prescription;
+import com.example.project.model.PrescriptionMedication;
+import com.example.project.repository.PrescriptionMedicationRepository;
+import com.example.project.repository.PrescriptionQueryRepository;
+import com.example.project.util.MedicationParser;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Service
+@Transactional(readOnly = true)
+public class PrescriptionQueryService {
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("dateIssued"), Sort.Order.desc("id"));
+
+    // open-ended ranges still bind real bounds so every lookup stays an index range scan
+    private static final LocalDateTime EARLIEST = LocalDate.of(1000, 1, 1).atStartOfDay();
+    private static final LocalDateTime LATEST = LocalDate.of(9999, 1, 1).atStartOfDay();
+
+    private final PrescriptionQueryRepository repository;
+    private final PrescriptionMedicationRepository medications;
+
+    public PrescriptionQueryService(PrescriptionQueryRepository repository,
+                                    PrescriptionMedicationRepository medications) {
+        this.repository = repository;
+        this.medications = medications;
+    }
+
+    public Page<Prescription> list(int page, int size) {
+        return repository.findPage(PageRequest.of(Math.max(page, 0), pageSize(size), NEWEST_FIRST));
+    }
+
+    /**
+     * Medication line items matching every given filter of drug, patient and
+     * doctor, issued between {@code from} and {@code to} inclusive, newest first.
+     *
+     * @throws IllegalArgumentException if none of drug, patient or doctor is given
+     */
+    public Page<PrescriptionMedication> medications(String drug, Long patientId, Long doctorId,
+                                                    LocalDate from, LocalDate to, int page, int size) {
+        PageRequest pageable = PageRequest.of(Math.max(page, 0), pageSize(size));
+        LocalDateTime start = from == null ? EARLIEST : from.atStartOfDay();
+        LocalDateTime end = to == null ? LATEST : to.plusDays(1).atStartOfDay();
+        String name = drug == null || drug.isBlank() ? null : MedicationParser.normaliseDrug(drug);
+        if (patientId != null) {
+            return medications.findByPatient(patientId, name, doctorId, start, end, pageable);
+        }
+        if (name != null && doctorId != null) {
+            return medications.findByDoctorAndDrug(doctorId, name, start, end, pageable);
+        }
+        if (name != null) {
+            return medications.findByDrug(name, start, end, pageable);
+        }
+        if (doctorId != null) {
+            return medications.findByDoctor(doctorId, start, end, pageable);
+        }
+        throw new IllegalArgumentException("One of drug, patientId or doctorId is required");
+    }
+
+    /**
+     * Ids of patients prescribed {@code drug} between {@code from} (default
+     * 90 days ago) and {@code to} (default today).
+     */
+    public Page<Long> patientsOnDrug(String drug, LocalDate from, LocalDate to, int page, int size) {
+        if (drug == null || drug.isBlank()) {
+            throw new IllegalArgumentException("drug is required");
+        }
+        LocalDate end = to == null ? LocalDate.now() : to;
+        LocalDate start = from == null ? end.minusDays(90) : from;
+        return medications.findPatientIdsOnDrug(MedicationParser.normaliseDrug(drug), start.atStartOfDay(),
+                end.plusDays(1).atStartOfDay(), PageRequest.of(Math.max(page, 0), pageSize(size)));
+    }
+
+    private static int pageSize(int size) {
+        return size <= 0 ? AdmissionQueryService.DEFAULT_PAGE_SIZE : Math.min(size, AdmissionQueryService.MAX_PAGE_SIZE);
+    }
+}
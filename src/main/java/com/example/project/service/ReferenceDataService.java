@@ -0,0 +1,110 @@
+package com.example.project.service;
+
+import com.example.project.config.CacheConfig;
+import com.example.project.dto.DepartmentOption;
+import com.example.project.dto.DoctorOption;
+import com.example.project.dto.PatientOption;
+import com.example.project.event.EntityChangeEvent;
+import com.example.project.model.Department;
+import com.example.project.model.Doctor;
+import com.example.project.model.Patient;
+import com.example.project.repository.DepartmentQueryRepository;
+import com.example.project.repository.DoctorQueryRepository;
+import com.example.project.repository.PatientQueryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Compact id/name lists for dropdowns, cached and evicted when the underlying
+ * entity is written. Patient dropdowns are capped; the forms pair them with a
+ * search box over {@code /api/lookup/patients} to reach everyone else.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ReferenceDataService {
+
+    public static final int MAX_TYPEAHEAD_RESULTS = 50;
+
+    private final PatientQueryRepository patients;
+    private final DoctorQueryRepository doctors;
+    private final DepartmentQueryRepository departments;
+    private final CacheManager cacheManager;
+
+    @Value("${app.lookup.patient-dropdown-limit:500}")
+    private int patientDropdownLimit;
+
+    public ReferenceDataService(PatientQueryRepository patients,
+                                DoctorQueryRepository doctors,
+                                DepartmentQueryRepository departments,
+                                CacheManager cacheManager) {
+        this.patients = patients;
+        this.doctors = doctors;
+        this.departments = departments;
+        this.cacheManager = cacheManager;
+    }
+
+    @Cacheable(CacheConfig.PATIENT_OPTIONS)
+    public List<PatientOption> patientOptions() {
+        return patients.findOptions(Limit.of(patientDropdownLimit));
+    }
+
+    /** A single option, so a filter on a patient outside the capped list still shows its name. */
+    public Optional<PatientOption> patientOption(Long id) {
+        return id == null ? Optional.empty() : patients.findOptionById(id);
+    }
+
+    @Cacheable(CacheConfig.DOCTOR_OPTIONS)
+    public List<DoctorOption> doctorOptions() {
+        return doctors.findOptions();
+    }
+
+    @Cacheable(CacheConfig.DEPARTMENT_OPTIONS)
+    public List<DepartmentOption> departmentOptions() {
+        return departments.findOptions();
+    }
+
+    /** Full doctor entities with departments, answered from the Hibernate query and entity caches. */
+    public List<Doctor> doctors() {
+        return doctors.findAllWithDepartment();
+    }
+
+    public List<Department> departments() {
+        return departments.findAllOrdered();
+    }
+
+    public List<PatientOption> searchPatients(String query, int limit) {
+        if (query == null || query.isBlank()) return List.of();
+        String prefix = query.trim().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return patients.findOptionsByPrefix(prefix, Limit.of(Math.max(1, Math.min(limit, MAX_TYPEAHEAD_RESULTS))));
+    }
+
+    // runs after commit and only clears caches; opts out of the class-level read-only transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onEntityChange(EntityChangeEvent event) {
+        if (event.concerns(Patient.class)) {
+            clear(CacheConfig.PATIENT_OPTIONS);
+        } else if (event.concerns(Doctor.class)) {
+            clear(CacheConfig.DOCTOR_OPTIONS);
+        } else if (event.concerns(Department.class)) {
+            // doctor options carry their department's name
+            clear(CacheConfig.DEPARTMENT_OPTIONS);
+            clear(CacheConfig.DOCTOR_OPTIONS);
+        }
+    }
+
+    private void clear(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache != null) cache.clear();
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.project.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Revenue for a date range, built from daily rollups. {@code outstanding} is
+ * what is still unpaid on invoices issued in the range.
+ */
+public record RevenueReport(LocalDate from, LocalDate to, String groupBy,
+                            BigDecimal issued, BigDecimal paid, BigDecimal outstanding,
+                            List<Period> periods) {
+
+    public record Period(LocalDate start, BigDecimal issued, long issuedCount,
+                         BigDecimal paid, long paidCount, BigDecimal outstanding, long outstandingCount) {
+    }
+}
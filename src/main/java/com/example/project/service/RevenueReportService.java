@@ -0,0 +1,72 @@
+package com.example.project.service;
+
+import com.example.project.model.RevenueRollup;
+import com.example.project.repository.RevenueRollupRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Answers revenue reports from {@link RevenueRollup} rows only, so a year is
+ * at most a few thousand rows whatever the invoice volume.
+ */
+@Service
+public class RevenueReportService {
+
+    static final int MAX_DAYS = 3660;
+
+    private final RevenueRollupRepository rollups;
+
+    public RevenueReportService(RevenueRollupRepository rollups) {
+        this.rollups = rollups;
+    }
+
+    @Transactional(readOnly = true)
+    public RevenueReport report(LocalDate from, LocalDate to, String groupBy) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("from and to are required and from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > MAX_DAYS) {
+            throw new IllegalArgumentException("Range is limited to " + MAX_DAYS + " days");
+        }
+        String grouping = groupBy == null ? "day" : groupBy.toLowerCase(Locale.ROOT);
+        if (!grouping.equals("day") && !grouping.equals("month")) {
+            throw new IllegalArgumentException("groupBy must be day or month");
+        }
+
+        Map<LocalDate, Totals> periods = new TreeMap<>();
+        Totals all = new Totals();
+        for (RevenueRollup row : rollups.findBetween(from, to)) {
+            LocalDate start = grouping.equals("month") ? row.getDay().withDayOfMonth(1) : row.getDay();
+            periods.computeIfAbsent(start, k -> new Totals()).add(row);
+            all.add(row);
+        }
+
+        List<RevenueReport.Period> out = new ArrayList<>(periods.size());
+        periods.forEach((start, t) -> out.add(new RevenueReport.Period(start,
+                t.issued, t.issuedCount, t.paid, t.paidCount, t.unpaid, t.unpaidCount)));
+        return new RevenueReport(from, to, grouping, all.issued, all.paid, all.unpaid, out);
+    }
+
+    private static final class Totals {
+        BigDecimal issued = BigDecimal.ZERO, paid = BigDecimal.ZERO, unpaid = BigDecimal.ZERO;
+        long issuedCount, paidCount, unpaidCount;
+
+        void add(RevenueRollup row) {
+            switch (row.getStatus()) {
+                case RevenueRollup.ISSUED -> { issued = issued.add(row.getAmount()); issuedCount += row.getInvoiceCount(); }
+                case RevenueRollup.PAID -> { paid = paid.add(row.getAmount()); paidCount += row.getInvoiceCount(); }
+                case RevenueRollup.UNPAID -> { unpaid = unpaid.add(row.getAmount()); unpaidCount += row.getInvoiceCount(); }
+                default -> { }
+            }
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.example.project.service;
+
+import com.example.project.event.EntityChangeEvent;
+import com.example.project.model.Invoice;
+import com.example.project.model.RevenueRollup;
+import com.example.project.repository.BackfillCheckpointRepository;
+import com.example.project.repository.RevenueRollupRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps {@link RevenueRollup} rows in step with invoices. Committed invoice
+ * changes are turned into deltas and applied with single-statement upserts:
+ * issuing adds to ISSUED and UNPAID on the issue day, payment moves the amount
+ * out of UNPAID and into PAID on the payment day. A nightly job recomputes
+ * every row from the invoices and checks the PAID total; on first start the
+ * table is seeded the same way.
+ *
+ * <p>Reconciliation never overwrites rows: it applies the difference as one
+ * more delta, so deltas committed while it runs are kept. A difference is
+ * only applied if a second comparison after {@code app.revenue.reconcile-settle-ms}
+ * finds the same one, since an invoice committed just before the comparison
+ * may not have had its own delta applied yet.
+ *
+ * <p>Seeding and reconciliation run on one instance at a time: each holds a
+ * lock on the {@value #LOCK_NAME} row of {@code backfill_checkpoints} for the
+ * whole run, and an instance that finds it held skips its run. Statuses are
+ * compared case-insensitively, as they are stored in mixed case.
+ *
+ * <p>The payment day is {@code paidAt}, falling back to {@code issuedAt} for
+ * invoices marked paid without a payment timestamp.
+ */
+@Service
+public class RevenueRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(RevenueRollupService.class);
+
+    /** Patients are not segmented yet; every invoice rolls up into this cohort. */
+    public static final String ALL_PATIENTS = "ALL";
+
+    private static final String PAID_STATUS = "PAID";
+
+    /** Control row locked while seeding or reconciling; its progress columns are unused. */
+    static final String LOCK_NAME = "revenue-rollups";
+
+    private record Key(LocalDate day, String status) {
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final RevenueRollupRepository rollups;
+    private final BackfillCheckpointRepository checkpoints;
+    private final TransactionTemplate writeTx;
+    private final TransactionTemplate snapshotTx;
+
+    @Value("${app.revenue.reconcile-settle-ms:5000}")
+    private long settleMs;
+
+    public RevenueRollupService(RevenueRollupRepository rollups, BackfillCheckpointRepository checkpoints,
+                                PlatformTransactionManager transactionManager) {
+        this.rollups = rollups;
+        this.checkpoints = checkpoints;
+        this.writeTx = new TransactionTemplate(transactionManager);
+        this.writeTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // invoices and rollup rows compared as of one point in time
+        this.snapshotTx = new TransactionTemplate(transactionManager);
+        this.snapshotTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.snapshotTx.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTx.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        try {
+            exclusively(() -> {
+                if (writeTx.execute(status -> rollups.count()) == 0) {
+                    int rows = rebuild();
+                    log.info("Seeded {} revenue rollup rows", rows);
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Could not seed revenue rollups: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChange(EntityChangeEvent event) {
+        if (!(event.entity() instanceof Invoice invoice)) {
+            return;
+        }
+        Map<Key, Delta> deltas = new LinkedHashMap<>();
+        switch (event.kind()) {
+            case INSERT -> apply(deltas, invoice.getStatus(), invoice.getAmount(), invoice.getIssuedAt(),
+                    invoice.getPaidAt(), 1);
+            case DELETE -> {
+                if (event.hasPreviousState()) {
+                    applyPrevious(deltas, event);
+                } else {
+                    apply(deltas, invoice.getStatus(), invoice.getAmount(), invoice.getIssuedAt(),
+                            invoice.getPaidAt(), -1);
+                }
+            }
+            case UPDATE -> {
+                if (!event.hasPreviousState()) {
+                    return; // nothing to diff against; the nightly reconciliation will pick it up
+                }
+                applyPrevious(deltas, event);
+                apply(deltas, invoice.getStatus(), invoice.getAmount(), invoice.getIssuedAt(),
+                        invoice.getPaidAt(), 1);
+            }
+        }
+        deltas.values().removeIf(Delta::isZero);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            writeTx.executeWithoutResult(status -> deltas.forEach((key, delta) ->
+                    rollups.add(key.day(), key.status(), ALL_PATIENTS, delta.amount, delta.count)));
+        } catch (Exception e) {
+            log.warn("Could not update revenue rollups for invoice {}: {}", invoice.getId(), e.getMessage());
+        }
+    }
+
+    private static void applyPrevious(Map<Key, Delta> deltas, EntityChangeEvent event) {
+        apply(deltas, (String) event.previous("status"), (BigDecimal) event.previous("amount"),
+                (LocalDateTime) event.previous("issuedAt"), (LocalDateTime) event.previous("paidAt"), -1);
+    }
+
+    /**
+     * Adds (sign 1) or removes (sign -1) one invoice state. Applying the old
+     * state with -1 and the new one with 1 cancels out everything that did not
+     * change, so only real moves reach the database.
+     */
+    private static void apply(Map<Key, Delta> deltas, String status, BigDecimal amount,
+                              LocalDateTime issuedAt, LocalDateTime paidAt, int sign) {
+        BigDecimal value = amount == null ? BigDecimal.ZERO : amount;
+        if (sign < 0) {
+            value = value.negate();
+        }
+        boolean paid = PAID_STATUS.equalsIgnoreCase(status);
+        LocalDateTime paidOn = paidAt != null ? paidAt : issuedAt;
+        if (paid && paidOn != null) {
+            delta(deltas, paidOn.toLocalDate(), RevenueRollup.PAID).add(value, sign);
+        }
+        if (issuedAt == null) {
+            return; // not issued yet, so not on any issue day
+        }
+        LocalDate issuedDay = issuedAt.toLocalDate();
+        delta(deltas, issuedDay, RevenueRollup.ISSUED).add(value, sign);
+        if (!paid) {
+            delta(deltas, issuedDay, RevenueRollup.UNPAID).add(value, sign);
+        }
+    }
+
+    private static Delta delta(Map<Key, Delta> deltas, LocalDate day, String status) {
+        return deltas.computeIfAbsent(new Key(day, status), k -> new Delta());
+    }
+
+    private static final class Delta {
+        BigDecimal amount = BigDecimal.ZERO;
+        long count;
+
+        void add(BigDecimal value, long invoices) {
+            amount = amount.add(value);
+            count += invoices;
+        }
+
+        boolean isZero() {
+            return count == 0 && amount.signum() == 0;
+        }
+
+        boolean sameAs(Delta other) {
+            return other != null && count == other.count && amount.compareTo(other.amount) == 0;
+        }
+    }
+
+    @Scheduled(cron = "${app.revenue.reconcile-cron:0 30 2 * * *}")
+    public void reconcile() {
+        try {
+            exclusively(() -> {
+                int corrected = rebuild();
+                if (corrected > 0) {
+                    log.warn("Revenue rollup reconciliation corrected {} rows", corrected);
+                }
+                BigDecimal rolledUp = writeTx.execute(status -> rollups.total(RevenueRollup.PAID));
+                BigDecimal actual = writeTx.execute(status -> entityManager.createQuery(
+                        "select coalesce(sum(i.amount), 0) from Invoice i where upper(i.status) = :paid", BigDecimal.class)
+                        .setParameter("paid", PAID_STATUS)
+                        .getSingleResult());
+                if (rolledUp.compareTo(actual) != 0) {
+                    log.warn("Paid revenue rollups total {} but paid invoices total {}", rolledUp, actual);
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Revenue rollup reconciliation failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Runs {@code work} while this instance holds the {@value #LOCK_NAME} row.
+     * The lock is taken in a transaction of its own that stays open for the
+     * whole run; the work reads and writes in its own transactions.
+     */
+    private void exclusively(Runnable work) {
+        writeTx.executeWithoutResult(status -> checkpoints.createIfMissing(LOCK_NAME));
+        boolean[] locked = {false};
+        try {
+            writeTx.executeWithoutResult(status -> {
+                checkpoints.lockNowait(LOCK_NAME);
+                locked[0] = true;
+                work.run();
+            });
+        } catch (PessimisticLockingFailureException e) {
+            if (locked[0]) {
+                throw e;
+            }
+            log.info("Revenue rollups are being rebuilt by another instance; skipped");
+        }
+    }
+
+    /**
+     * Brings every row in line with the invoices by adding the difference,
+     * once two comparisons {@code settleMs} apart agree on it; differences that
+     * moved in between are left to the next run.
+     *
+     * @return number of rows corrected
+     */
+    private int rebuild() {
+        Map<Key, Delta> drift = drift();
+        if (drift.isEmpty()) {
+            return 0;
+        }
+        try {
+            Thread.sleep(settleMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+        Map<Key, Delta> again = drift();
+        drift.entrySet().removeIf(e -> !e.getValue().sameAs(again.get(e.getKey())));
+        if (drift.size() < again.size()) {
+            log.info("Revenue rollups: {} differences still moving, left to the next reconciliation",
+                    again.size() - drift.size());
+        }
+        writeTx.executeWithoutResult(status -> drift.forEach((key, delta) ->
+                rollups.add(key.day(), key.status(), ALL_PATIENTS, delta.amount, delta.count)));
+        return drift.size();
+    }
+
+    /**
+     * Recomputes ISSUED and UNPAID per issue day and PAID per payment day with
+     * two grouped queries and returns, per row, what must be added to match.
+     */
+    private Map<Key, Delta> drift() {
+        return snapshotTx.execute(status -> {
+            Map<Key, Delta> expected = new HashMap<>();
+            for (Object[] r : entityManager.createQuery(
+                    "select extract(date from i.issuedAt), case when upper(i.status) = :paid then true else false end," +
+                    " coalesce(sum(i.amount), 0), count(i)" +
+                    " from Invoice i where i.issuedAt is not null" +
+                    " group by extract(date from i.issuedAt), case when upper(i.status) = :paid then true else false end",
+                    Object[].class)
+                    .setParameter("paid", PAID_STATUS)
+                    .getResultList()) {
+                LocalDate day = (LocalDate) r[0];
+                boolean paid = (Boolean) r[1];
+                BigDecimal amount = (BigDecimal) r[2];
+                long count = (Long) r[3];
+                expected.computeIfAbsent(new Key(day, RevenueRollup.ISSUED), k -> new Delta()).add(amount, count);
+                if (!paid) {
+                    expected.computeIfAbsent(new Key(day, RevenueRollup.UNPAID), k -> new Delta()).add(amount, count);
+                }
+            }
+            for (Object[] r : entityManager.createQuery(
+                    "select extract(date from coalesce(i.paidAt, i.issuedAt)), coalesce(sum(i.amount), 0), count(i)" +
+                    " from Invoice i where upper(i.status) = :paid and coalesce(i.paidAt, i.issuedAt) is not null" +
+                    " group by extract(date from coalesce(i.paidAt, i.issuedAt))",
+                    Object[].class)
+                    .setParameter("paid", PAID_STATUS)
+                    .getResultList()) {
+                expected.computeIfAbsent(new Key((LocalDate) r[0], RevenueRollup.PAID), k -> new Delta())
+                        .add((BigDecimal) r[1], (Long) r[2]);
+            }
+
+            for (RevenueRollup row : rollups.findByStatusIn(
+                    List.of(RevenueRollup.ISSUED, RevenueRollup.UNPAID, RevenueRollup.PAID))) {
+                expected.computeIfAbsent(new Key(row.getDay(), row.getStatus()), k -> new Delta())
+                        .add(row.getAmount().negate(), -row.getInvoiceCount());
+            }
+            expected.values().removeIf(Delta::isZero);
+            return expected;
+        });
+    }
+}
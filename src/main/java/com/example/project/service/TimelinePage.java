@@ -0,0 +1,11 @@
+package com.example.project.service;
+
+import com.example.project.dto.TimelineEntry;
+
+import java.util.List;
+
+/**
+ * One page of a patient timeline, newest first.
+ */
+public record TimelinePage(List<TimelineEntry> items, int page, int size, boolean hasNext) {
+}
@@ -0,0 +1,73 @@
+package com.example.project.util;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits and joins CSV records (RFC 4180 quoting, no embedded line breaks on read).
+ * Joined text that a spreadsheet would run as a formula gets a leading quote.
+ */
+public final class CsvLine {
+
+    private CsvLine() {
+    }
+
+    public static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Joins values into one record, quoting where needed; nulls become empty
+     * fields. Numbers are written as they are (BigDecimal in plain notation);
+     * other values starting with =, +, -, @, tab or CR are prefixed with a
+     * single quote so spreadsheets show them as text.
+     */
+    public static String join(Object... values) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) line.append(',');
+            if (values[i] == null) continue;
+            String v = values[i] instanceof BigDecimal d ? d.toPlainString() : values[i].toString();
+            if (!(values[i] instanceof Number) && isFormulaLike(v)) v = "'" + v;
+            if (v.indexOf(',') >= 0 || v.indexOf('"') >= 0 || v.indexOf('\n') >= 0 || v.indexOf('\r') >= 0) {
+                line.append('"').append(v.replace("\"", "\"\"")).append('"');
+            } else {
+                line.append(v);
+            }
+        }
+        return line.toString();
+    }
+
+    private static boolean isFormulaLike(String v) {
+        if (v.isEmpty()) return false;
+        char c = v.charAt(0);
+        return c == '=' || c == '+' || c == '-' || c == '@' || c == '\t' || c == '\r';
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.project.util;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Parses the date-time shapes our forms and API clients send, in a single
+ * pass and without building formatters or throwing on the normal path:
+ *
+ * <pre>
+ *   2025-11-02T14:30          ISO / datetime-local
+ *   2025-11-02 14:30          Flatpickr 24h (also 9:05, and :ss / .SSS)
+ *   2025-11-02 2:30 PM        Flatpickr 12h (also 02:30PM, 'T' separator, lower case)
+ * </pre>
+ *
+ * Surrounding whitespace, repeated spaces and one pair of surrounding single
+ * quotes are ignored. AM/PM follows the old {@code parseDateTimeFlexible}: PM
+ * adds 12 to hours below 12, 12 AM is midnight, and any other hour is taken
+ * as 24h ({@code 14:30 PM} is 14:30). Unlike the old parser it also takes
+ * seconds in every shape and a 1-digit hour after 'T'. It rejects text around
+ * the value, and dates or times the old one silently adjusted
+ * ({@code 2025-02-30} to Feb 28, {@code 24:00} to the next midnight).
+ */
+public final class DateTimeParser {
+
+    private DateTimeParser() {
+    }
+
+    /**
+     * @throws DateTimeParseException if the value is not one of the supported shapes
+     */
+    public static LocalDateTime parse(String value) {
+        LocalDateTime result = tryParse(value);
+        if (result == null) {
+            String text = value == null ? "" : value;
+            throw new DateTimeParseException("Unrecognised date-time: " + text, text, 0);
+        }
+        return result;
+    }
+
+    /**
+     * @return the parsed value, or null if the value is not one of the supported shapes
+     */
+    public static LocalDateTime tryParse(CharSequence s) {
+        if (s == null) return null;
+        int n = trimEnd(s, 0, s.length());
+        int i = skipBlank(s, 0, n);
+        if (n - i >= 2 && s.charAt(i) == '\'' && s.charAt(n - 1) == '\'') {
+            n = trimEnd(s, i + 1, n - 1);
+            i = skipBlank(s, i + 1, n);
+        }
+
+        int year = digits(s, i, 4);
+        if (year < 0 || !is(s, i + 4, '-')) return null;
+        int month = digits(s, i + 5, 2);
+        if (month < 0 || !is(s, i + 7, '-')) return null;
+        int day = digits(s, i + 8, 2);
+        if (day < 0) return null;
+        i += 10;
+
+        // separator: blanks and/or a single 'T'
+        int sep = i;
+        i = skipBlank(s, i, n);
+        if (is(s, i, 'T') || is(s, i, 't')) i = skipBlank(s, i + 1, n);
+        if (i == sep) return null;
+
+        int hour = digits(s, i, 2);
+        if (hour >= 0 && is(s, i + 2, ':')) {
+            i += 3;
+        } else {
+            hour = digits(s, i, 1);
+            if (hour < 0 || !is(s, i + 1, ':')) return null;
+            i += 2;
+        }
+        int minute = digits(s, i, 2);
+        if (minute < 0) return null;
+        i += 2;
+
+        int second = 0, nano = 0;
+        if (is(s, i, ':')) {
+            second = digits(s, i + 1, 2);
+            if (second < 0) return null;
+            i += 3;
+            if (is(s, i, '.')) {
+                int start = ++i;
+                while (i < n && i - start < 9 && isDigit(s.charAt(i))) nano = nano * 10 + (s.charAt(i++) - '0');
+                if (i == start) return null;
+                for (int k = i - start; k < 9; k++) nano *= 10;
+            }
+        }
+
+        i = skipBlank(s, i, n);
+        if (i + 1 < n && (s.charAt(i + 1) == 'M' || s.charAt(i + 1) == 'm')) {
+            char c = s.charAt(i);
+            boolean pm = c == 'P' || c == 'p';
+            if (!pm && c != 'A' && c != 'a') return null;
+            if (pm && hour < 12) hour += 12;
+            if (!pm && hour == 12) hour = 0;
+            i = skipBlank(s, i + 2, n);
+        }
+        if (i != n) return null;
+
+        if (month < 1 || month > 12 || day < 1 || day > Month.of(month).length(Year.isLeap(year))) return null;
+        if (hour > 23 || minute > 59 || second > 59) return null;
+        return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+    }
+
+    private static int skipBlank(CharSequence s, int i, int n) {
+        while (i < n && Character.isWhitespace(s.charAt(i))) i++;
+        return i;
+    }
+
+    /** End of {@code s[from, n)} without trailing whitespace. */
+    private static int trimEnd(CharSequence s, int from, int n) {
+        while (n > from && Character.isWhitespace(s.charAt(n - 1))) n--;
+        return n;
+    }
+
+    /** Reads exactly {@code count} ASCII digits at {@code i}, or returns -1. */
+    private static int digits(CharSequence s, int i, int count) {
+        if (i + count > s.length()) return -1;
+        int v = 0;
+        for (int k = i; k < i + count; k++) {
+            char c = s.charAt(k);
+            if (!isDigit(c)) return -1;
+            v = v * 10 + (c - '0');
+        }
+        return v;
+    }
+
+    private static boolean is(CharSequence s, int i, char c) {
+        return i < s.length() && s.charAt(i) == c;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
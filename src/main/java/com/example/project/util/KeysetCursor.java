@@ -0,0 +1,39 @@
+package com.example.project.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque position for keyset (seek) pagination over a (timestamp, id) ordering.
+ * Encoded as URL-safe Base64 so it can travel as a query parameter. A null
+ * {@code at} marks a position among rows without a timestamp, which sort last.
+ */
+public record KeysetCursor(LocalDateTime at, long id) {
+
+    /** True when the position is among the unstamped rows at the end of the ordering. */
+    public boolean inNullTail() {
+        return at == null;
+    }
+
+    public String encode() {
+        String raw = (at == null ? "" : at.toString()) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the decoded cursor, or null for a blank token (first page)
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            String at = raw.substring(0, sep);
+            return new KeysetCursor(at.isEmpty() ? null : LocalDateTime.parse(at), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.project.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Splits free-text prescription medications into line items. Items are
+ * separated by new lines, semicolons or commas (not decimal commas); within an
+ * item the drug name is everything before the first dose ("500 mg", "5ml",
+ * "1 tab") and the rest is kept as instructions. Leading list markers ("1.",
+ * "-", "*") are dropped.
+ * <p>
+ * A part that reads as directions ("take twice daily", "after food", "1 tab
+ * at night") or has no name of its own is not an item: it is added to the
+ * instructions of the item before it, or dropped if there is none.
+ */
+public final class MedicationParser {
+
+    public record Item(String drug, String dose, String instructions, String text) {
+    }
+
+    private static final Pattern SEPARATORS = Pattern.compile("[\\r\\n;]+");
+    // a comma between two digits is a decimal comma ("2,5 mg")
+    private static final Pattern COMMA = Pattern.compile("(?<!\\d),|,(?!\\d)");
+    private static final Pattern LIST_MARKER = Pattern.compile("^\\s*(?:\\d+[.)]|[-*\\u2022])\\s+");
+    private static final Pattern DOSE = Pattern.compile(
+            "(?i)\\b(\\d+(?:[.,]\\d+)?(?:/\\d+(?:[.,]\\d+)?)?\\s*" +
+            "(?:mg|mcg|\\u00b5g|ug|g|ml|l|iu|units?|%|tabs?|tablets?|caps?|capsules?|drops?|puffs?)(?!\\p{L})\\.?)");
+    private static final Pattern DIRECTIONS = Pattern.compile(
+            "(?i)^(?:take|apply|use|inhale|instil|instill|insert|inject|give|chew|dissolve|spray|then|and|or|" +
+            "once|twice|thrice|\\d+\\s*(?:x|times)|three times|four times|every|each|daily|nightly|weekly|" +
+            "in the|at|after|before|with|without|for|until|when|if|as|prn|od|bd|bid|tds|tid|qds|qid|qhs|" +
+            "nocte|mane|stat|po|orally|by mouth|do not|avoid|max|maximum|repeat|continue|stop|morning|evening|night)\\b");
+    private static final Pattern NOT_NAME = Pattern.compile("[^\\p{L}\\p{N}\\s/+-]");
+
+    static final int MAX_DRUG = 120;
+    static final int MAX_DOSE = 64;
+    static final int MAX_INSTRUCTIONS = 255;
+    static final int MAX_TEXT = 500;
+
+    private MedicationParser() {
+    }
+
+    public static List<Item> parse(String medications) {
+        if (medications == null || medications.isBlank()) {
+            return new ArrayList<>();
+        }
+        List<Draft> drafts = new ArrayList<>();
+        for (String segment : SEPARATORS.split(medications)) {
+            String joiner = "; ";
+            for (String part : COMMA.split(segment)) {
+                String line = LIST_MARKER.matcher(part).replaceFirst("").trim();
+                if (line.isEmpty()) {
+                    continue;
+                }
+                Matcher m = DOSE.matcher(line);
+                String name = line;
+                String dose = null;
+                String rest = null;
+                if (m.find()) {
+                    name = line.substring(0, m.start());
+                    dose = m.group(1).replaceAll("\\s+", " ").trim();
+                    rest = line.substring(m.end());
+                }
+                boolean doseFirst = dose != null && normaliseDrug(name).isEmpty();
+                if (doseFirst) {
+                    // dose first ("500mg paracetamol"): take the name from what follows
+                    name = rest;
+                    rest = null;
+                }
+                if (normaliseDrug(name).isEmpty() || DIRECTIONS.matcher(name.trim()).find()) {
+                    if (!drafts.isEmpty()) {
+                        drafts.get(drafts.size() - 1).addDirections(line, doseFirst ? dose : null, name, joiner);
+                    }
+                } else {
+                    drafts.add(new Draft(normaliseDrug(name), dose,
+                            rest == null ? "" : rest.replaceAll("^[\\s,:-]+", "").trim(), line));
+                }
+                joiner = ", ";
+            }
+        }
+        List<Item> items = new ArrayList<>(drafts.size());
+        for (Draft d : drafts) {
+            items.add(new Item(clip(d.drug, MAX_DRUG), clip(d.dose, MAX_DOSE),
+                    clip(d.instructions.toString(), MAX_INSTRUCTIONS), clip(d.text.toString(), MAX_TEXT)));
+        }
+        return items;
+    }
+
+    /** An item being read; directions that follow it are added until the next item starts. */
+    private static final class Draft {
+        final String drug;
+        String dose;
+        final StringBuilder instructions;
+        final StringBuilder text;
+
+        Draft(String drug, String dose, String instructions, String text) {
+            this.drug = drug;
+            this.dose = dose;
+            this.instructions = new StringBuilder(instructions);
+            this.text = new StringBuilder(text);
+        }
+
+        /** A leading dose ("500mg at night") fills a missing dose, leaving {@code afterDose} as directions. */
+        void addDirections(String line, String leadingDose, String afterDose, String joiner) {
+            String directions = line;
+            if (dose == null && leadingDose != null) {
+                dose = leadingDose;
+                directions = afterDose == null ? "" : afterDose.trim();
+            }
+            if (!directions.isEmpty()) {
+                if (instructions.length() > 0) instructions.append(joiner);
+                instructions.append(directions);
+            }
+            text.append(joiner).append(line);
+        }
+    }
+
+    /** Lower case, punctuation removed, single spaces; used for both stored names and lookups. */
+    public static String normaliseDrug(String name) {
+        if (name == null) {
+            return "";
+        }
+        return NOT_NAME.matcher(name.toLowerCase(Locale.ROOT)).replaceAll(" ").replaceAll("\\s+", " ").trim();
+    }
+
+    private static String clip(String s, int max) {
+        if (s == null || s.isEmpty()) {
+            return null;
+        }
+        return s.length() <= max ? s : s.substring(0, max);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.project.util;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Date;
+
+/**
+ * Normalises the date/time types used across entities to {@link LocalDateTime}
+ * in the server zone, so records of different kinds can be ordered together.
+ * A plain date counts as the start of that day.
+ */
+public final class Temporals {
+
+    private Temporals() {
+    }
+
+    /**
+     * @return the value as a LocalDateTime, or null for null
+     * @throws IllegalArgumentException for an unsupported type
+     */
+    public static LocalDateTime toDateTime(Object value) {
+        if (value == null) return null;
+        if (value instanceof LocalDateTime t) return t;
+        if (value instanceof LocalDate d) return d.atStartOfDay();
+        if (value instanceof java.sql.Date d) return d.toLocalDate().atStartOfDay();
+        if (value instanceof java.sql.Timestamp ts) return ts.toLocalDateTime();
+        if (value instanceof Date d) return LocalDateTime.ofInstant(d.toInstant(), ZoneId.systemDefault());
+        if (value instanceof Instant i) return LocalDateTime.ofInstant(i, ZoneId.systemDefault());
+        if (value instanceof OffsetDateTime o) return o.atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        if (value instanceof ZonedDateTime z) return z.withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        throw new IllegalArgumentException("Not a date/time: " + value.getClass().getName());
+    }
+}
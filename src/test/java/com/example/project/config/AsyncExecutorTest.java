@@ -0,0 +1,40 @@
+package com.example.project.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The section and SSE pools are {@code Executor} beans, which stops Boot from
+ * creating {@code applicationTaskExecutor}; MVC async work (streamed exports)
+ * must still run on a bounded pool rather than a thread per request.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AsyncExecutorTest {
+
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    @Test
+    void asyncRequestsUseTheApplicationTaskExecutor() {
+        Object used = ReflectionTestUtils.getField(handlerAdapter, "taskExecutor");
+
+        assertThat(used).isSameAs(applicationTaskExecutor);
+        assertThat(used).isInstanceOfSatisfying(ThreadPoolTaskExecutor.class,
+                pool -> assertThat(pool.getThreadNamePrefix()).isEqualTo("task-"));
+    }
+}
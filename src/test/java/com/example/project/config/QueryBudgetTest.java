@@ -0,0 +1,132 @@
+package com.example.project.config;
+
+import com.example.project.model.Admission;
+import com.example.project.model.Appointment;
+import com.example.project.model.Department;
+import com.example.project.model.Doctor;
+import com.example.project.model.Invoice;
+import com.example.project.model.Patient;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the list pages against N+1 regressions: each renders a page of rows
+ * whose patients, doctors and departments are all distinct, and must stay
+ * within the per-request statement budget enforced by {@link QueryBudgetFilter}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryBudgetTest {
+
+    private static final int ROWS = 40;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.query-budget.max-statements:15}")
+    private int maxStatements;
+
+    @BeforeAll
+    void seed() {
+        LocalDateTime now = LocalDateTime.now();
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+            for (int i = 0; i < ROWS; i++) {
+                Department department = new Department("Dept " + i, null);
+                entityManager.persist(department);
+
+                Doctor doctor = new Doctor();
+                doctor.setFirstName("Doc" + i);
+                doctor.setLastName("Tor" + i);
+                doctor.setEmail("doc" + i + "@example.com");
+                doctor.setDepartment(department);
+                entityManager.persist(doctor);
+
+                Patient patient = new Patient("First" + i, "Last" + i, "p" + i + "@example.com",
+                        "555-" + i, LocalDate.of(1980, 1, 1).plusDays(i), "Street " + i);
+                patient.setCreatedAt(now.minusDays(i));
+                entityManager.persist(patient);
+
+                Admission admission = new Admission();
+                admission.setPatient(patient);
+                admission.setDoctor(doctor);
+                admission.setAdmittedAt(now.minusHours(i));
+                admission.setRoomNumber("R" + i);
+                admission.setStatus("ADMITTED");
+                entityManager.persist(admission);
+
+                Invoice invoice = new Invoice();
+                invoice.setPatient(patient);
+                invoice.setAmount(BigDecimal.valueOf(100 + i));
+                invoice.setDescription("Invoice " + i);
+                invoice.setStatus(i % 2 == 0 ? "PAID" : "UNPAID");
+                invoice.setIssuedAt(now.minusDays(i));
+                entityManager.persist(invoice);
+
+                Appointment appointment = new Appointment();
+                appointment.setPatient(patient);
+                appointment.setAppointmentDateTime(now.plusHours(i + 1));
+                appointment.setPurpose("Checkup");
+                appointment.setStatus("SCHEDULED");
+                entityManager.persist(appointment);
+            }
+        });
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/admissions", "/billing", "/appointments"})
+    void listPageStaysWithinStatementBudget(String path) throws Exception {
+        MvcResult result = mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(result.getResponse().getContentAsString()).as("rows rendered by %s", path).contains("Last0");
+
+        Object statements = result.getRequest().getAttribute(QueryBudgetFilter.COUNT_ATTRIBUTE);
+        assertThat(statements).as("statements counted for %s", path).isInstanceOf(Integer.class);
+        assertThat((Integer) statements).as("SQL statements for GET %s", path).isLessThanOrEqualTo(maxStatements);
+    }
+
+    /** One query per timeline source; whole entities would add selects for their eager associations. */
+    @Test
+    void patientTimelineIsOneQueryPerSource() throws Exception {
+        Long patientId = new TransactionTemplate(transactionManager).execute(tx -> entityManager
+                .createQuery("select p.id from Patient p where p.lastName = 'Last0'", Long.class)
+                .getSingleResult());
+
+        MvcResult result = mockMvc.perform(get("/api/patients/{id}/timeline", patientId))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(result.getResponse().getContentAsString()).contains("APPOINTMENT", "INVOICE");
+
+        Object statements = result.getRequest().getAttribute(QueryBudgetFilter.COUNT_ATTRIBUTE);
+        assertThat((Integer) statements).as("SQL statements for the patient timeline").isLessThanOrEqualTo(4);
+    }
+}
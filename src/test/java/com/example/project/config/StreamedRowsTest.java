@@ -0,0 +1,65 @@
+package com.example.project.config;
+
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamedRowsTest {
+
+    private static final String LIST =
+            "<#list rows as r>${r} <#else>none</#list><#if rows.truncated>(first ${rows.maxRows})</#if>";
+
+    @Test
+    void stopsAtMaxRowsAndReportsTruncation() throws Exception {
+        StreamedRows<Integer> rows = new StreamedRows<>(() -> IntStream.rangeClosed(1, 5).boxed(), 2, 3);
+
+        assertThat(render(rows)).isEqualTo("1 2 3 (first 3)");
+        assertThat(rows.truncated()).isTrue();
+        assertThat(rows.rendered()).isEqualTo(3);
+    }
+
+    @Test
+    void exactlyMaxRowsIsNotTruncated() throws Exception {
+        StreamedRows<Integer> rows = new StreamedRows<>(() -> IntStream.rangeClosed(1, 3).boxed(), 2, 3);
+
+        assertThat(render(rows)).isEqualTo("1 2 3 ");
+        assertThat(rows.truncated()).isFalse();
+    }
+
+    @Test
+    void runsAfterChunkBetweenChunksAndClosesTheStream() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        AtomicInteger chunks = new AtomicInteger();
+        StreamedRows<Integer> rows = new StreamedRows<>(
+                () -> Stream.of(1, 2, 3, 4, 5).onClose(() -> closed.set(true)), 2, 100);
+        rows.afterChunk(chunks::incrementAndGet);
+
+        assertThat(render(rows)).isEqualTo("1 2 3 4 5 ");
+        assertThat(chunks).hasValue(2);
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void emptyStreamRendersTheElseBranch() throws Exception {
+        assertThat(render(new StreamedRows<>(Stream::empty, 2, 3))).isEqualTo("none");
+    }
+
+    private static String render(StreamedRows<?> rows) throws Exception {
+        Template template = new Template("list", LIST, new Configuration(Configuration.VERSION_2_3_32));
+        Map<String, Object> model = new HashMap<>();
+        model.put("rows", rows);
+        StringWriter out = new StringWriter();
+        template.process(model, out);
+        return out.toString();
+    }
+}
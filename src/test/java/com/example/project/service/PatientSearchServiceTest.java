@@ -0,0 +1,165 @@
+package com.example.project.service;
+
+import com.example.project.dto.PatientOption;
+import com.example.project.dto.PatientSearchHit;
+import com.example.project.event.EntityChangeEvent;
+import com.example.project.model.Patient;
+import com.example.project.repository.PatientIndexChangeRepository;
+import com.example.project.repository.PatientQueryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the search service against an index in a temporary directory, with the
+ * repositories mocked, so matching, ranking and the ordering of live writes
+ * against a rebuild can be checked without a database.
+ */
+class PatientSearchServiceTest {
+
+    @TempDir
+    Path indexDir;
+
+    private final PatientQueryRepository patients = mock(PatientQueryRepository.class);
+    private final PatientIndexChangeRepository changeLog = mock(PatientIndexChangeRepository.class);
+    private final List<Object[]> rows = new ArrayList<>();
+    private PatientSearchService search;
+
+    @BeforeEach
+    void buildIndex() throws Exception {
+        rows.add(row(1L, "Alice", "Smith", "alice.smith@example.com", "555-014-2277"));
+        rows.add(row(2L, "Robert", "Johnson", "bob.j@example.org", "+44 20 7946 0958"));
+        rows.add(row(3L, "Ann", "Lee", "ann.lee@example.com", "555-019-3344"));
+        rows.add(row(4L, "Annabel", "Ng", "annabel@example.net", "555-017-1200"));
+        rows.add(row(5L, "Zoë", "Goldsmith", "zoe.g@example.com", null));
+        when(patients.streamForIndex()).thenAnswer(inv -> rows.stream());
+
+        search = new PatientSearchService(patients, changeLog, mock(ReferenceDataService.class),
+                mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(search, "indexDir", indexDir);
+        ReflectionTestUtils.setField(search, "changeRetentionDays", 7);
+        search.open();
+        search.rebuild();
+    }
+
+    @AfterEach
+    void closeIndex() throws Exception {
+        search.close();
+    }
+
+    @Test
+    void prefixMatchesNamesAndRanksWholeWordsFirst() {
+        assertThat(ids(search.search("ann", 0, 10).getContent())).containsExactly(3L, 4L);
+        assertThat(ids(search.search("al sm", 0, 10).getContent())).containsExactly(1L);
+        assertThat(search.typeahead("john", 10))
+                .extracting(PatientOption::getId).containsExactly(2L);
+    }
+
+    @Test
+    void infixMatchesInsideANameAndRanksBelowPrefixMatches() {
+        assertThat(ids(search.search("smith", 0, 10).getContent())).containsExactly(1L, 5L);
+        assertThat(ids(search.search("mith", 0, 10).getContent())).containsExactlyInAnyOrder(1L, 5L);
+        assertThat(search.typeahead("mith", 10)).isEmpty();
+    }
+
+    @Test
+    void fuzzyMatchesMisspellingsAndFoldsAccents() {
+        assertThat(ids(search.search("jonhson", 0, 10).getContent())).containsExactly(2L);
+        assertThat(ids(search.search("zoe", 0, 10).getContent())).containsExactly(5L);
+        assertThat(search.typeahead("jonhson", 10)).isEmpty();
+    }
+
+    @Test
+    void matchesEmailAndPhonePrefixes() {
+        List<PatientSearchHit> byEmail = search.search("Bob.J@", 0, 10).getContent();
+        assertThat(ids(byEmail)).containsExactly(2L);
+        assertThat(byEmail.get(0).email()).isEqualTo("bob.j@example.org");
+
+        assertThat(ids(search.search("555 014", 0, 10).getContent())).containsExactly(1L);
+        assertThat(ids(search.search("(555) 01", 0, 10).getContent())).containsExactlyInAnyOrder(1L, 3L, 4L);
+        assertThat(ids(search.search("4420794", 0, 10).getContent())).containsExactly(2L);
+    }
+
+    @Test
+    void committedUpdatesAndDeletesAreSearchableAtOnce() {
+        search.onEntityChange(new EntityChangeEvent(EntityChangeEvent.Kind.UPDATE,
+                patient(1L, "Alice", "Walker", "alice.smith@example.com", "555-014-2277"), Map.of()));
+        search.onEntityChange(new EntityChangeEvent(EntityChangeEvent.Kind.DELETE,
+                patient(3L, "Ann", "Lee", "ann.lee@example.com", "555-019-3344"), Map.of()));
+
+        assertThat(ids(search.search("walker", 0, 10).getContent())).containsExactly(1L);
+        assertThat(ids(search.search("smith", 0, 10).getContent())).containsExactly(5L);
+        assertThat(ids(search.search("ann", 0, 10).getContent())).containsExactly(4L);
+        verify(changeLog, times(2)).saveAll(anyIterable());
+    }
+
+    @Test
+    void deletesLoggedByAnotherInstanceAreApplied() {
+        when(changeLog.findPatientIdsChangedSince(anyLong())).thenReturn(List.of(2L, 4L));
+        when(patients.findIndexRows(any())).thenReturn(List.<Object[]>of(
+                row(4L, "Annabel", "Ng-Okafor", "annabel@example.net", "555-017-1200")));
+
+        search.syncChanges();
+
+        assertThat(search.search("johnson", 0, 10).getContent()).isEmpty();
+        assertThat(ids(search.search("okafor", 0, 10).getContent())).containsExactly(4L);
+    }
+
+    @Test
+    void rebuildSnapshotDoesNotOverwriteALiveWriteMadeDuringThePass() {
+        Object[] stale = row(2L, "Robert", "Johnson", "bob.j@example.org", "+44 20 7946 0958");
+        when(patients.streamForIndex()).thenAnswer(inv -> Stream.of(rows.get(0), stale, rows.get(2))
+                .peek(r -> {
+                    // committed while the pass is between patient 1 and the stale snapshot row of patient 2
+                    if (r == rows.get(0)) {
+                        search.onEntityChange(new EntityChangeEvent(EntityChangeEvent.Kind.UPDATE,
+                                patient(2L, "Bobby", "Johnson", "bobby@example.org", "+44 20 7946 0958"), Map.of()));
+                    }
+                }));
+
+        search.rebuild();
+
+        List<PatientSearchHit> hits = search.search("johnson", 0, 10).getContent();
+        assertThat(hits).extracting(PatientSearchHit::firstName).containsExactly("Bobby");
+        assertThat(search.search("robert", 0, 10).getContent()).isEmpty();
+        // patients 4 and 5 are not in the new snapshot, so the rebuild swept them
+        assertThat(search.search("annabel", 0, 10).getContent()).isEmpty();
+        assertThat(search.search("goldsmith", 0, 10).getContent()).isEmpty();
+    }
+
+    private static List<Long> ids(List<PatientSearchHit> hits) {
+        return hits.stream().map(PatientSearchHit::id).toList();
+    }
+
+    private static Object[] row(Long id, String first, String last, String email, String phone) {
+        return new Object[]{id, first, last, email, phone};
+    }
+
+    private static Patient patient(Long id, String first, String last, String email, String phone) {
+        Patient p = new Patient();
+        p.setId(id);
+        p.setFirstName(first);
+        p.setLastName(last);
+        p.setEmail(email);
+        p.setPhone(phone);
+        return p;
+    }
+}
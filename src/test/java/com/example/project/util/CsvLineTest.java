@@ -0,0 +1,30 @@
+package com.example.project.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvLineTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"=1+2", "+1", "-1", "@SUM(A1)", "\t=1"})
+    void formulaLikeTextIsPrefixedWithAQuote(String text) {
+        assertThat(CsvLine.split(CsvLine.join(text))).containsExactly("'" + text);
+    }
+
+    @Test
+    void numbersAreWrittenAsTheyAre() {
+        assertThat(CsvLine.join(-5L, new BigDecimal("-12.50"), new BigDecimal("1E+3"))).isEqualTo("-5,-12.50,1000");
+    }
+
+    @Test
+    void quotesFieldsWithSeparatorsAndRoundTrips() {
+        String line = CsvLine.join("Doe, Jane", "say \"hi\"", null, "plain");
+        assertThat(line).isEqualTo("\"Doe, Jane\",\"say \"\"hi\"\"\",,plain");
+        assertThat(CsvLine.split(line)).containsExactly("Doe, Jane", "say \"hi\"", "", "plain");
+    }
+}
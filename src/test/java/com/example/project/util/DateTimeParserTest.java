@@ -0,0 +1,117 @@
+package com.example.project.util;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+/**
+ * Checks {@link DateTimeParser} against the parser it replaced: inputs the old
+ * one accepted must give the same value, inputs it rejected must still be
+ * rejected, except for the documented differences listed separately.
+ */
+class DateTimeParserTest {
+
+    static Stream<String> legacyInputs() {
+        return Stream.of(
+                // ISO / datetime-local
+                "2025-11-02T14:30",
+                "2025-11-02T14:30:15",
+                "2025-11-02T14:30:15.123",
+                "2025-11-02T00:00",
+                // Flatpickr 24h
+                "2025-11-02 14:30",
+                "2025-11-02 9:05",
+                "2025-11-02 09:05",
+                "  2025-11-02   14:30  ",
+                "2025-11-02\t14:30",
+                // Flatpickr 12h
+                "2025-11-02 2:30 PM",
+                "2025-11-02 02:30 PM",
+                "2025-11-02 2:30PM",
+                "2025-11-02 2:30 pm",
+                "2025-11-02T2:30 PM",
+                "2025-11-02T02:30AM",
+                "2025-11-02 12:00 AM",
+                "2025-11-02 12:00 PM",
+                "2025-11-02 12:59 am",
+                // hours the marker does not apply to are kept as 24h
+                "2025-11-02 14:30 PM",
+                "2025-11-02 14:30 AM",
+                "2025-11-02 0:30 AM",
+                "2025-11-02 0:30 PM",
+                // one pair of surrounding quotes
+                "'2025-11-02 14:30'",
+                "' 2025-11-02 2:30 PM '",
+                // rejected by both
+                "",
+                "   ",
+                "2025-11-02",
+                "14:30",
+                "2025-13-02 14:30",
+                "2025-11-02 14:60",
+                "2025-11-02 13:30:61",
+                "2025-11-02 1430",
+                "2025/11/02 14:30",
+                "2025-11-02'14:30",
+                "'2025-11-02 14:30",
+                "2025-11-02 14:30'",
+                "2025-11-02 2:30 XM",
+                "2025-11-02 25:30 PM",
+                "not a date");
+    }
+
+    @ParameterizedTest
+    @MethodSource("legacyInputs")
+    void matchesLegacyParser(String input) {
+        LocalDateTime expected = legacy(input);
+        assertThat(DateTimeParser.tryParse(input)).as("'%s'", input).isEqualTo(expected);
+    }
+
+    /** Inputs where the new parser deliberately differs; see the class comment of {@link DateTimeParser}. */
+    static Stream<Arguments> documentedDifferences() {
+        return Stream.of(
+                // seconds and fractions outside the ISO 'T' form
+                arguments("2025-11-02 14:30:15", LocalDateTime.of(2025, 11, 2, 14, 30, 15)),
+                arguments("2025-11-02 14:30:15.5", LocalDateTime.of(2025, 11, 2, 14, 30, 15, 500_000_000)),
+                arguments("2025-11-02 2:30:15 PM", LocalDateTime.of(2025, 11, 2, 14, 30, 15)),
+                // 1-digit hour and blanks around the 'T' separator
+                arguments("2025-11-02T9:05", LocalDateTime.of(2025, 11, 2, 9, 5)),
+                arguments("2025-11-02 T 14:30", LocalDateTime.of(2025, 11, 2, 14, 30)),
+                // text around the value is no longer ignored
+                arguments("2025-11-02 2:30 PM tomorrow", null),
+                arguments("at 2025-11-02 2:30 PM", null),
+                // impossible values are rejected instead of adjusted (Feb 28, next midnight)
+                arguments("2025-02-30 14:30", null),
+                arguments("2025-11-02 24:00", null));
+    }
+
+    @ParameterizedTest
+    @MethodSource("documentedDifferences")
+    void differsFromLegacyOnlyWhereDocumented(String input, LocalDateTime expected) {
+        assertThat(legacy(input)).as("legacy '%s'", input).isNotEqualTo(expected);
+        assertThat(DateTimeParser.tryParse(input)).as("'%s'", input).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "2025-11-02", "2025-02-29 10:00"})
+    void parseThrowsForRejectedInput(String input) {
+        assertThatThrownBy(() -> DateTimeParser.parse(input)).isInstanceOf(DateTimeParseException.class);
+    }
+
+    private static LocalDateTime legacy(String input) {
+        try {
+            return LegacyDateTimeParsing.parseDateTimeFlexible(input);
+        } catch (RuntimeException rejected) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.project.util;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Verbatim copy of the former {@code AppointmentController.parseDateTimeFlexible},
+ * kept as the reference for {@link DateTimeParserTest} and, through the test-jar,
+ * the baseline of the benchmarks module's {@code DateTimeParserBenchmark}.
+ */
+public final class LegacyDateTimeParsing {
+
+    private LegacyDateTimeParsing() {
+    }
+
+    public static LocalDateTime parseDateTimeFlexible(String value) {
+        // Normalize and strip quotes
+        value = value == null ? "" : value.trim();
+        if (value.startsWith("'") && value.endsWith("'")) {
+            value = value.substring(1, value.length() - 1).trim();
+        }
+
+        // Normalize whitespace
+        value = value.replaceAll("\\s+", " ");
+
+        // If contains AM/PM, try a robust regex-based parse first
+        if (value.toUpperCase().contains("AM") || value.toUpperCase().contains("PM")) {
+            try {
+                String normalized = value.replace('T', ' ').trim();
+                java.util.regex.Pattern p = java.util.regex.Pattern.compile("(\\d{4}-\\d{2}-\\d{2})[ T]+(\\d{1,2}):(\\d{2})\\s*([AaPp][Mm])");
+                java.util.regex.Matcher m = p.matcher(normalized);
+                if (m.find()) {
+                    String datePart = m.group(1);
+                    String hourPart = m.group(2);
+                    String minutePart = m.group(3);
+                    String ampmPart = m.group(4).toUpperCase();
+
+                    java.time.LocalDate date = java.time.LocalDate.parse(datePart); // ISO date
+                    int hour = Integer.parseInt(hourPart);
+                    int minute = Integer.parseInt(minutePart);
+                    if (ampmPart.equals("PM") && hour < 12) hour += 12;
+                    if (ampmPart.equals("AM") && hour == 12) hour = 0;
+                    return java.time.LocalDateTime.of(date, java.time.LocalTime.of(hour, minute));
+                }
+            } catch (Exception ignored) {
+                // Fall through to other attempts below
+            }
+        }
+
+        // Common format attempts (with Locale.ENGLISH for AM/PM parsing)
+        java.util.Locale en = java.util.Locale.ENGLISH;
+        String[] patterns = new String[] {
+            "yyyy-MM-dd'T'HH:mm",     // 24h with T
+            "yyyy-MM-dd HH:mm",       // 24h with space
+            "yyyy-MM-dd H:mm",        // 24h single-digit hour
+            "yyyy-MM-dd h:mm a",      // 12h with AM/PM
+            "yyyy-MM-dd hh:mm a",     // 12h two-digit hour with AM/PM
+            "yyyy-MM-dd'T'h:mm a",    // 12h with T
+            "yyyy-MM-dd'T'hh:mm a"    // 12h with T and two-digit hour
+        };
+
+        for (String pat : patterns) {
+            try {
+                DateTimeFormatter fmt = DateTimeFormatter.ofPattern(pat, en);
+                return LocalDateTime.parse(value, fmt);
+            } catch (DateTimeParseException ignored) {
+            }
+        }
+
+        // Fallback: try ISO generic parse
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException ignored) {
+        }
+
+        // Last resort: try with seconds
+        DateTimeFormatter withSeconds = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+        return LocalDateTime.parse(value, withSeconds);
+    }
+}
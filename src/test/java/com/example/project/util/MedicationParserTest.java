@@ -0,0 +1,96 @@
+package com.example.project.util;
+
+import com.example.project.util.MedicationParser.Item;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class MedicationParserTest {
+
+    @Test
+    void splitsLinesAndSemicolons() {
+        assertThat(MedicationParser.parse("1. Amoxicillin 500 mg three times daily\n- Ibuprofen 200mg; Omeprazole 20mg"))
+                .extracting(Item::drug, Item::dose, Item::instructions)
+                .containsExactly(
+                        tuple("amoxicillin", "500 mg", "three times daily"),
+                        tuple("ibuprofen", "200mg", null),
+                        tuple("omeprazole", "20mg", null));
+    }
+
+    @Test
+    void splitsCommaLists() {
+        assertThat(MedicationParser.parse("Amoxicillin 500mg, Ibuprofen 200mg, Aspirin"))
+                .extracting(Item::drug, Item::dose)
+                .containsExactly(tuple("amoxicillin", "500mg"), tuple("ibuprofen", "200mg"), tuple("aspirin", null));
+    }
+
+    @Test
+    void keepsDecimalCommasInDoses() {
+        assertThat(MedicationParser.parse("Salbutamol 2,5 mg, Prednisolone 5mg"))
+                .extracting(Item::drug, Item::dose)
+                .containsExactly(tuple("salbutamol", "2,5 mg"), tuple("prednisolone", "5mg"));
+    }
+
+    @Test
+    void directionsAfterASeparatorBelongToThePreviousItem() {
+        List<Item> items = MedicationParser.parse("Paracetamol 500mg; take twice daily");
+
+        assertThat(items).extracting(Item::drug, Item::dose, Item::instructions, Item::text)
+                .containsExactly(tuple("paracetamol", "500mg", "take twice daily", "Paracetamol 500mg; take twice daily"));
+    }
+
+    @Test
+    void directionsAfterACommaBelongToThePreviousItem() {
+        assertThat(MedicationParser.parse("Amoxicillin 500mg three times daily, for 7 days, Ibuprofen 200mg, after food"))
+                .extracting(Item::drug, Item::instructions)
+                .containsExactly(
+                        tuple("amoxicillin", "three times daily, for 7 days"),
+                        tuple("ibuprofen", "after food"));
+    }
+
+    @Test
+    void aLeadingDoseFillsAMissingDose() {
+        assertThat(MedicationParser.parse("Paracetamol\n500mg at night"))
+                .extracting(Item::drug, Item::dose, Item::instructions)
+                .containsExactly(tuple("paracetamol", "500mg", "at night"));
+    }
+
+    @Test
+    void aDoseAndDirectionsPartDoesNotReplaceAnExistingDose() {
+        assertThat(MedicationParser.parse("Amoxicillin 500mg; 1 tab twice daily"))
+                .extracting(Item::drug, Item::dose, Item::instructions)
+                .containsExactly(tuple("amoxicillin", "500mg", "1 tab twice daily"));
+    }
+
+    @Test
+    void doseFirstTakesTheNameFromWhatFollows() {
+        assertThat(MedicationParser.parse("500mg paracetamol"))
+                .extracting(Item::drug, Item::dose)
+                .containsExactly(tuple("paracetamol", "500mg"));
+    }
+
+    @Test
+    void namesThatStartLikeDirectionsAreStillDrugs() {
+        assertThat(MedicationParser.parse("Aspirin 75mg, Atorvastatin 20mg, Omeprazole 20mg"))
+                .extracting(Item::drug)
+                .containsExactly("aspirin", "atorvastatin", "omeprazole");
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"  ", "take twice daily", "; , ;"})
+    void nothingToIndex(String text) {
+        assertThat(MedicationParser.parse(text)).isEmpty();
+    }
+
+    @Test
+    void normalisesNamesForLookups() {
+        assertThat(MedicationParser.normaliseDrug("  Co-Amoxiclav (Augmentin)\u00ae ")).isEqualTo("co-amoxiclav augmentin");
+    }
+}